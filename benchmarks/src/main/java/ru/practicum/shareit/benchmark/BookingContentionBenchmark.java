@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Создание и подтверждение бронирований из {@value #THREADS} потоков на H2 в памяти.
+ * <p>
+ * При {@code items=1} все потоки бронируют один предмет и ждут блокировки его строки,
+ * при большем числе предметов вызовы расходятся по разным строкам и идут параллельно.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(BookingContentionBenchmark.THREADS)
+@Fork(1)
+public class BookingContentionBenchmark {
+    static final int THREADS = 8;
+    private static final long OWNER_ID = 1;
+    private static final long BOOKER_ID = 2;
+
+    @Param({"1", "64"})
+    private int items;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private final AtomicLong calls = new AtomicLong();
+    private LocalDateTime firstStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("ci")
+                .properties("spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (?, 'owner', 'owner@mail.ru'), " +
+                "(?, 'booker', 'booker@mail.ru')", OWNER_ID, BOOKER_ID);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                "SELECT x, 'item ' || x, 'description ' || x, TRUE, ? FROM SYSTEM_RANGE(1, ?)", OWNER_ID, items);
+        bookingService = context.getBean(BookingService.class);
+        firstStart = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Каждый вызов занимает следующий свободный час своего предмета, поэтому бронирования не пересекаются.
+     */
+    @Benchmark
+    public BookingDto bookAndApprove() {
+        long call = calls.getAndIncrement();
+        LocalDateTime start = firstStart.plusHours(call / items);
+        BookingDto booking = bookingService.saveBooking(BOOKER_ID, BookingDto.builder()
+                .itemId(call % items + 1)
+                .start(start)
+                .end(start.plusHours(1))
+                .build());
+        return bookingService.confirmOrCancelBooking(OWNER_ID, booking.getId(), true);
+    }
+}
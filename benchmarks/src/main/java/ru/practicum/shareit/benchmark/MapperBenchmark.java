@@ -0,0 +1,110 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
+import ru.practicum.shareit.request.mappers.RequestMapper;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Мапперы и разбор состояния бронирования в изоляции, без Spring и БД.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final Booking booking = Booking.builder()
+            .id(1L)
+            .start(LocalDateTime.now().plusDays(1))
+            .end(LocalDateTime.now().plusDays(2))
+            .item(item(1L))
+            .booker(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+            .status(Status.APPROVED)
+            .build();
+
+    @State(Scope.Benchmark)
+    public static class RequestItems {
+        @Param({"10", "100"})
+        private int itemCount;
+
+        private List<Item> items;
+        private Request request;
+
+        @Setup
+        public void setUp() {
+            request = Request.builder()
+                    .id(1L)
+                    .description("Нужна дрель")
+                    .requester(User.builder().id(2L).name("Booker").email("booker@mail.ru").build())
+                    .created(LocalDateTime.now())
+                    .build();
+            items = new ArrayList<>(itemCount);
+            for (long id = 1; id <= itemCount; id++) {
+                items.add(item(id));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StateParam {
+        @Param({"CURRENT", "waiting", "UNSUPPORTED_STATUS"})
+        private String state;
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return BookingMapper.toBookingDto(booking);
+    }
+
+    @Benchmark
+    public List<ItemDtoReq> itemsToDtoList(RequestItems requestItems) {
+        return ItemMapper.toItemDtoList(requestItems.items);
+    }
+
+    @Benchmark
+    public RequestDtoWithRequest requestToDtoWithItems(RequestItems requestItems) {
+        return RequestMapper.toRequestDtoWithRequest(requestItems.request, requestItems.items);
+    }
+
+    @Benchmark
+    public Optional<ru.practicum.shareit.booking.enums.State> stateFrom(StateParam param) {
+        return ru.practicum.shareit.booking.enums.State.from(param.state);
+    }
+
+    private static Item item(long id) {
+        return Item.builder()
+                .id(id)
+                .name("Дрель " + id)
+                .description("Аккумуляторная дрель " + id)
+                .available(true)
+                .ownerId(1L)
+                .request(1L)
+                .build();
+    }
+}
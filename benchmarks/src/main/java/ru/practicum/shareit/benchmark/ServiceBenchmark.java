@@ -0,0 +1,109 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Полный путь сервисов предметов и бронирований на H2 в памяти.
+ * <p>
+ * Объём данных: {@value #USERS} пользователей, у каждого {@value #ITEMS_PER_USER} предметов,
+ * {@value #BOOKINGS} бронирований и {@value #COMMENTS} отзывов. Каждый вызов берёт следующего пользователя по кругу.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    static final int USERS = 1_000;
+    static final int ITEMS_PER_USER = 20;
+    static final int BOOKINGS = 200_000;
+    static final int COMMENTS = 20_000;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+    private long nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles("ci")
+                .properties("spring.main.web-application-type=none",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .run();
+        seed(context.getBean(JdbcTemplate.class));
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BookingState {
+        @Param({"ALL", "PAST", "FUTURE"})
+        private String state;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> getItemsByUser() {
+        return itemService.getItemsByUser(nextUser(), 0, ITEMS_PER_USER);
+    }
+
+    @Benchmark
+    public List<BookingDto> getBooking(BookingState bookingState) {
+        return bookingService.getBooking(nextUser(), bookingState.state, 0, 20);
+    }
+
+    private long nextUser() {
+        nextUser = nextUser % USERS + 1;
+        return nextUser;
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT x, 'user ' || x, 'user' || x || '@mail.ru' FROM SYSTEM_RANGE(1, ?)", USERS);
+        jdbcTemplate.update("INSERT INTO items (id, name, description, is_available, owner_id) " +
+                        "SELECT x, 'item ' || x, 'description ' || x, MOD(x, 3) <> 0, 1 + MOD(x, ?) " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                USERS, USERS * ITEMS_PER_USER);
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, status, item_id, booker_id) " +
+                        "SELECT x, DATEADD('DAY', MOD(x, 730) - 365, CURRENT_TIMESTAMP), " +
+                        "DATEADD('DAY', MOD(x, 730) - 363, CURRENT_TIMESTAMP), " +
+                        "CASE MOD(x, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, " +
+                        "1 + MOD(x * 7, ?), 1 + MOD(x, ?) FROM SYSTEM_RANGE(1, ?)",
+                USERS * ITEMS_PER_USER, USERS, BOOKINGS);
+        jdbcTemplate.update("INSERT INTO comments (id, text, created, item_id, author_id) " +
+                        "SELECT x, 'comment ' || x, CURRENT_TIMESTAMP, 1 + MOD(x, ?), 1 + MOD(x * 13, ?) " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                USERS * ITEMS_PER_USER, USERS, COMMENTS);
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Реактивный шлюз, включается {@code spring.main.web-application-type=reactive}.
+ * <p>
+ * Tomcat остаётся в зависимостях ради сервлетного шлюза, и без этой настройки Spring Boot
+ * поднял бы WebFlux на нём; Netty обслуживает запросы несколькими потоками event loop.
+ * <p>
+ * Кэш ответов сервера, объединение одинаковых запросов, лимит запросов, bulkhead и circuit breaker
+ * есть только у сервлетного шлюза, поэтому при запуске реактивного об этом пишется предупреждение.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveGatewayConfiguration {
+    private final Environment environment;
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warnAboutServletOnlyProtection() {
+        List<String> ignored = new ArrayList<>(List.of(
+                "кэш ответов и объединение запросов (shareit.response-cache.*)",
+                "bulkhead и circuit breaker (shareit.resilience.*)"));
+        if (environment.getProperty("shareit.rate-limit.enabled", Boolean.class, true)) {
+            ignored.add("лимит запросов (shareit.rate-limit.*)");
+        }
+        log.warn("Реактивный шлюз работает без защиты сервлетного: {}", String.join(", ", ignored));
+    }
+}
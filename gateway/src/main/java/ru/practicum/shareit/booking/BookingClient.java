@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
@@ -10,20 +12,25 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerCallGuards;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder,
+                         HttpClient httpClient, ServerCallGuards guards) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                        .build(),
+                guards.forGroup("bookings")
         );
     }
 
@@ -35,22 +42,23 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getUserBookings(Long userId, State state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getUserBookings(Long userId, State state, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
     }
 
-    public ResponseEntity<Object> getOwnerBookings(Long ownerId, State state,  int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getOwnerBookings(Long ownerId, State state, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, after), ownerId,
+                parameters);
     }
 
     public ResponseEntity<Object> updateBooking(Long ownerId, Long bookingId, Boolean approved) {
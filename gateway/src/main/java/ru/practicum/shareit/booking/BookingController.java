@@ -3,20 +3,26 @@ package ru.practicum.shareit.booking;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.ratelimit.RateLimited;
 
 import javax.validation.constraints.Min;
 
+import static ru.practicum.shareit.client.BaseClient.bodyLength;
+
 @Controller
 @RequestMapping(path = "/bookings")
+@RateLimited("bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingController {
 
 
@@ -31,7 +37,7 @@ public class BookingController {
     ) {
         log.info("Получен POST-запрос /bookings {} ", bookingDto);
         ResponseEntity<Object> response = bookingClient.saveBooking(userId, bookingDto);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -43,7 +49,7 @@ public class BookingController {
                                                 @RequestParam boolean approved) {
         log.info("Получен PATCH-запрос /bookingId подтверждения/отмены бронирования");
         ResponseEntity<Object> response = bookingClient.updateBooking(userId, bookingId, approved);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -71,13 +77,14 @@ public class BookingController {
                                                                       "more than 0") int from,
                                                           @RequestParam(required = false, defaultValue = "10")
                                                               @Min(value = 0, message = "Parameter 'size' must be " +
-                                                                      "more than 0") int size) {
+                                                                      "more than 0") int size,
+                                                          @RequestParam(required = false) String after) {
         log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
                 "для  пользователя");
         State state = State.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
         log.info("Looking for bookings of owner {} with state {}", userId, stateParam);
-        ResponseEntity<Object> response = bookingClient.getUserBookings(userId, state, from, size);
+        ResponseEntity<Object> response = bookingClient.getUserBookings(userId, state, from, size, after);
         return response;
     }
 
@@ -92,12 +99,13 @@ public class BookingController {
                                                                  "more than 0") int from,
                                                          @RequestParam(required = false, defaultValue = "10")
                                                              @Min(value = 0, message = "Parameter 'size' must be " +
-                                                                     "more than 0") int size) {
+                                                                     "more than 0") int size,
+                                                         @RequestParam(required = false) String after) {
         log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
                 "для владельца");
         State state = State.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        ResponseEntity<Object> response = bookingClient.getOwnerBookings(ownerId, state, from, size);
+        ResponseEntity<Object> response = bookingClient.getOwnerBookings(ownerId, state, from, size, after);
         return response;
     }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    @Autowired
+    public ReactiveBookingClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> saveBooking(Long userId, BookingDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(Long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserBookings(Long userId, State state, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        return get(withCursor("?state={state}&from={from}&size={size}", parameters, after), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getOwnerBookings(Long ownerId, State state, int from, int size,
+                                                         String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state.name(),
+                "from", from,
+                "size", size
+        ));
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", parameters, after), ownerId,
+                parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBooking(Long ownerId, Long bookingId, Boolean approved) {
+        return patch("/" + bookingId + "?approved={approved}", ownerId, Map.of("approved", approved), null);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.State;
+
+import javax.validation.constraints.Min;
+
+/**
+ * {@link BookingController} для WebFlux: те же пути и проверки, ответ сервера ожидается без блокировки потока.
+ */
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ReactiveBookingClient bookingClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> saveBooking(@RequestHeader(name = USER_ID_HEADER)
+                                                    @Min(value = 1, message = "User ID must be more than 0")
+                                                    Long userId,
+                                                    @RequestBody @Validated BookingDto bookingDto) {
+        log.info("Получен POST-запрос /bookings {} ", bookingDto);
+        return bookingClient.saveBooking(userId, bookingDto)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> updateBooking(@RequestHeader(name = USER_ID_HEADER)
+                                                      @Min(value = 1, message = "User ID must be more than 0")
+                                                      Long userId,
+                                                      @PathVariable Long bookingId,
+                                                      @RequestParam boolean approved) {
+        log.info("Получен PATCH-запрос /bookingId подтверждения/отмены бронирования");
+        return bookingClient.updateBooking(userId, bookingId, approved)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBookingForOwnerOrBooker(@RequestHeader(name = USER_ID_HEADER)
+                                                                   @Min(value = 1,
+                                                                           message = "User ID must be more than 0")
+                                                                   Long userId,
+                                                                   @PathVariable @Min(value = 0,
+                                                                           message = "Booking ID must be more than 0")
+                                                                   Long bookingId) {
+        log.info("Получен GET-запрос просмотра бронирования владельцем предмета или" +
+                " пользователем, бронирующим предмет");
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllBookingsForBooker(@RequestHeader(name = USER_ID_HEADER)
+                                                                @Min(value = 1,
+                                                                        message = "User ID must be more than 0")
+                                                                Long userId,
+                                                                @RequestParam(name = "state", defaultValue = "ALL")
+                                                                String stateParam,
+                                                                @RequestParam(required = false, defaultValue = "0")
+                                                                @Min(value = 0, message = "Parameter 'from' must be " +
+                                                                        "more than 0") int from,
+                                                                @RequestParam(required = false, defaultValue = "10")
+                                                                @Min(value = 0, message = "Parameter 'size' must be " +
+                                                                        "more than 0") int size,
+                                                                @RequestParam(required = false) String after) {
+        log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
+                "для  пользователя");
+        State state = State.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getUserBookings(userId, state, from, size, after);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllBookingsForOwner(@RequestHeader(name = USER_ID_HEADER)
+                                                               @Min(value = 1,
+                                                                       message = "User ID must be more than 0")
+                                                               Long ownerId,
+                                                               @RequestParam(name = "state", defaultValue = "ALL")
+                                                               String stateParam,
+                                                               @RequestParam(required = false, defaultValue = "0")
+                                                               @Min(value = 0, message = "Parameter 'from' must be " +
+                                                                       "more than 0") int from,
+                                                               @RequestParam(required = false, defaultValue = "10")
+                                                               @Min(value = 0, message = "Parameter 'size' must be " +
+                                                                       "more than 0") int size,
+                                                               @RequestParam(required = false) String after) {
+        log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
+                "для владельца");
+        State state = State.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        return bookingClient.getOwnerBookings(ownerId, state, from, size, after);
+    }
+}
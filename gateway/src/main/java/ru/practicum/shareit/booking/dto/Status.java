@@ -4,5 +4,6 @@ public enum Status {  //статус бронирования - в дто и в
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
+    CANCELED,
+    EXPIRED
 }
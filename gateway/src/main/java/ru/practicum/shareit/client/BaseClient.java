@@ -10,9 +10,29 @@ import java.util.Map;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final ServerCallGuard guard;
+    @Nullable
+    private final ServerResponseCache cache;
+    @Nullable
+    private final SingleFlight singleFlight;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, ServerCallGuard.NONE);
+    }
+
+    public BaseClient(RestTemplate rest, ServerCallGuard guard) {
+        this.rest = rest;
+        this.guard = guard;
+        this.cache = null;
+        this.singleFlight = null;
+    }
+
+    public BaseClient(RestTemplate rest, ServerCallGuard guard, ServerResponseCache cache,
+                      SingleFlight singleFlight) {
         this.rest = rest;
+        this.guard = guard;
+        this.cache = cache;
+        this.singleFlight = singleFlight;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -27,6 +47,56 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    protected ResponseEntity<Object> getCached(String path, Long userId) {
+        return getCached(path, userId, Map.of(), true);
+    }
+
+    /**
+     * GET, который при повторе переспрашивает сервер с {@code If-None-Match} и на 304 отдаёт сохранённый ответ.
+     * Одинаковые одновременные запросы уходят на сервер один раз.
+     *
+     * @param userSpecific ответ сервера зависит от {@code X-Sharer-User-Id}; иначе запросы разных
+     *                     пользователей считаются одинаковыми
+     */
+    protected ResponseEntity<Object> getCached(String path, Long userId, Map<String, Object> parameters,
+                                               boolean userSpecific) {
+        if (cache == null || singleFlight == null) {
+            return get(path, userId, parameters);
+        }
+        String key = ServerResponseCache.key(userSpecific ? userId : null,
+                rest.getUriTemplateHandler().expand(path, parameters).toString());
+        return singleFlight.execute(key, () -> revalidate(key, path, userId, parameters));
+    }
+
+    private ResponseEntity<Object> revalidate(String key, String path, Long userId, Map<String, Object> parameters) {
+        ServerResponseCache.Entry cached = cache.get(key);
+        HttpHeaders headers = defaultHeaders(userId, MediaType.APPLICATION_JSON);
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.getEtag());
+        }
+
+        ResponseEntity<byte[]> shareitServerResponse;
+        try {
+            shareitServerResponse = guard.call(() -> rest.exchange(path, HttpMethod.GET, new HttpEntity<>(headers),
+                    byte[].class, parameters));
+        } catch (HttpStatusCodeException e) {
+            cache.invalidate(key);
+            return passthrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        }
+        if (shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+            return passthrough(HttpStatus.OK, cached.getHeaders(), cached.getBody());
+        }
+        String etag = shareitServerResponse.getHeaders().getETag();
+        if (shareitServerResponse.getStatusCode() == HttpStatus.OK && etag != null) {
+            cache.put(key, new ServerResponseCache.Entry(etag, shareitServerResponse.getHeaders(),
+                    shareitServerResponse.getBody()));
+        } else {
+            cache.invalidate(key);
+        }
+        return passthrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -39,6 +109,13 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * POST с телом произвольного типа, например потоком {@link org.springframework.core.io.InputStreamResource}.
+     */
+    protected <T> ResponseEntity<Object> post(String path, long userId, MediaType contentType, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, contentType, null, body);
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -75,26 +152,45 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Добавляет к запросу курсор {@code after}, если он передан; {@code parameters} должен быть изменяемым.
+     */
+    protected static String withCursor(String path, Map<String, Object> parameters, @Nullable String after) {
+        if (after == null) {
+            return path;
+        }
+        parameters.put("after", after);
+        return path + "&after={after}";
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return makeAndSendRequest(method, path, userId, MediaType.APPLICATION_JSON, parameters, body);
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                          MediaType contentType,
                                                           @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, contentType));
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = guard.call(() ->
+                        rest.exchange(path, method, requestEntity, byte[].class, parameters));
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = guard.call(() -> rest.exchange(path, method, requestEntity, byte[].class));
             }
         } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+            return passthrough(e.getStatusCode(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return passthrough(shareitServerResponse.getStatusCode(), shareitServerResponse.getHeaders(),
+                shareitServerResponse.getBody());
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
@@ -102,17 +198,19 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
-
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
-        }
+    /**
+     * Длина проксируемого тела в байтах: в журнал пишется она, а не сам массив.
+     */
+    public static int bodyLength(ResponseEntity<Object> response) {
+        Object body = response.getBody();
+        return body instanceof byte[] ? ((byte[]) body).length : 0;
+    }
 
-        return responseBuilder.build();
+    /**
+     * Отдаёт клиенту тело ответа сервера как есть, без разбора JSON, вместе с его заголовками.
+     */
+    private static ResponseEntity<Object> passthrough(HttpStatus status, @Nullable HttpHeaders serverHeaders,
+                                                      @Nullable byte[] body) {
+        return new ResponseEntity<>(body, ProxyHeaders.endToEnd(serverHeaders), status);
     }
 }
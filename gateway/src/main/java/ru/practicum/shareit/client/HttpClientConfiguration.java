@@ -0,0 +1,67 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Общий пул соединений шлюза с сервером для всех клиентов на RestTemplate.
+ * <p>
+ * Простаивающие соединения закрываются раньше, чем их закроет Tomcat сервера (20 с по умолчанию),
+ * иначе запрос может уйти в уже закрытое сервером соединение.
+ * Состояние пула публикуется в метриках {@code httpcomponents.httpclient.pool.*}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class HttpClientConfiguration {
+    static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    public PoolingHttpClientConnectionManager serverConnectionManager(
+            @Value("${shareit.http-client.max-total:100}") int maxTotal,
+            @Value("${shareit.http-client.max-per-route:50}") int maxPerRoute,
+            @Value("${shareit.http-client.validate-after-inactivity:2s}") Duration validateAfterInactivity) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        log.info("Пул соединений с сервером: всего {}, на адрес {}", maxTotal, maxPerRoute);
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient serverHttpClient(
+            PoolingHttpClientConnectionManager serverConnectionManager,
+            @Value("${shareit.http-client.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${shareit.http-client.read-timeout:30s}") Duration readTimeout,
+            @Value("${shareit.http-client.connection-request-timeout:5s}") Duration connectionRequestTimeout,
+            @Value("${shareit.http-client.idle-timeout:10s}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectTimeout((int) connectTimeout.toMillis())
+                        .setSocketTimeout((int) readTimeout.toMillis())
+                        .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+
+import java.util.Set;
+
+/**
+ * Заголовки ответа сервера, которые шлюз передаёт клиенту.
+ */
+public final class ProxyHeaders {
+    /**
+     * Заголовки соединения шлюза с сервером; длину тела клиенту выставляет сам шлюз.
+     */
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(HttpHeaders.CONNECTION, "Keep-Alive",
+            HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TE, HttpHeaders.TRAILER,
+            HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE, HttpHeaders.PROXY_AUTHORIZATION);
+
+    private ProxyHeaders() {
+    }
+
+    public static HttpHeaders endToEnd(@Nullable HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        if (serverHeaders != null) {
+            serverHeaders.forEach((name, values) -> {
+                if (HOP_BY_HOP_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                    headers.addAll(name, values);
+                }
+            });
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующий аналог {@link BaseClient} на WebClient: поток не ждёт ответа сервера.
+ * <p>
+ * Тело ответа сервера отдаётся клиенту как есть, так же как в {@link BaseClient}.
+ */
+public class ReactiveBaseClient {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    protected final WebClient web;
+
+    public ReactiveBaseClient(WebClient web) {
+        this.web = web;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId) {
+        return get(path, userId, Map.of());
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId, Map<String, Object> parameters) {
+        return exchange(request(HttpMethod.GET, path, userId, parameters));
+    }
+
+    protected Mono<ResponseEntity<Object>> post(String path, @Nullable Long userId, @Nullable Object body) {
+        return exchange(withBody(request(HttpMethod.POST, path, userId, Map.of()), body));
+    }
+
+    /**
+     * POST с телом запроса клиента, которое передаётся на сервер по мере поступления.
+     */
+    protected Mono<ResponseEntity<Object>> post(String path, long userId, MediaType contentType,
+                                                Flux<DataBuffer> body) {
+        return exchange(request(HttpMethod.POST, path, userId, Map.of())
+                .contentType(contentType)
+                .body(BodyInserters.fromDataBuffers(body)));
+    }
+
+    protected Mono<ResponseEntity<Object>> patch(String path, @Nullable Long userId, Map<String, Object> parameters,
+                                                 @Nullable Object body) {
+        return exchange(withBody(request(HttpMethod.PATCH, path, userId, parameters), body));
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path, @Nullable Long userId) {
+        return exchange(request(HttpMethod.DELETE, path, userId, Map.of()));
+    }
+
+    /**
+     * То же, что {@link BaseClient#withCursor}, для запросов через WebClient.
+     */
+    protected static String withCursor(String path, Map<String, Object> parameters, @Nullable String after) {
+        return BaseClient.withCursor(path, parameters, after);
+    }
+
+    private WebClient.RequestBodySpec request(HttpMethod method, String path, @Nullable Long userId,
+                                              Map<String, Object> parameters) {
+        WebClient.RequestBodySpec request = web.method(method)
+                .uri(path, parameters)
+                .accept(MediaType.APPLICATION_JSON);
+        if (userId != null) {
+            request.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return request;
+    }
+
+    private static WebClient.RequestHeadersSpec<?> withBody(WebClient.RequestBodySpec request, @Nullable Object body) {
+        return body == null ? request : request.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private static Mono<ResponseEntity<Object>> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> new ResponseEntity<>(response.getBody(),
+                        ProxyHeaders.endToEnd(response.getHeaders()), response.getStatusCode()));
+    }
+}
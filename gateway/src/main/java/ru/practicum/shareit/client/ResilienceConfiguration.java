@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Автоматы и ограничения одновременных вызовов сервера для групп эндпоинтов шлюза.
+ * <p>
+ * Автомат размыкается по доле ошибок и по доле медленных ответов; ответы 4xx ошибкой сервера не считаются.
+ * Состояние публикуется в метриках {@code resilience4j.circuitbreaker.*} и {@code resilience4j.bulkhead.*},
+ * отказы по занятости группы — в {@code shareit.gateway.bulkhead.rejected}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfiguration {
+    @Bean
+    public CircuitBreakerRegistry serverCircuitBreakers(ResilienceProperties properties) {
+        ResilienceProperties.CircuitBreakerProperties circuitBreaker = properties.getCircuitBreaker();
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(circuitBreaker.getFailureRateThreshold())
+                .slowCallRateThreshold(circuitBreaker.getSlowCallRateThreshold())
+                .slowCallDurationThreshold(circuitBreaker.getSlowCallDuration())
+                .slidingWindowSize(circuitBreaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(circuitBreaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(circuitBreaker.getWaitInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(circuitBreaker.getPermittedCallsInHalfOpenState())
+                .recordException(e -> !(e instanceof HttpClientErrorException))
+                .build());
+    }
+
+    @Bean
+    public BulkheadRegistry serverBulkheads(ResilienceProperties properties) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(properties.getBulkhead().getDefaultMaxConcurrentCalls())
+                .maxWaitDuration(properties.getBulkhead().getMaxWait())
+                .build());
+    }
+
+    @Bean
+    public ServerCallGuards serverCallGuards(CircuitBreakerRegistry serverCircuitBreakers,
+                                             BulkheadRegistry serverBulkheads, ResilienceProperties properties) {
+        return new ServerCallGuards(serverCircuitBreakers, serverBulkheads,
+                properties.getBulkhead().getMaxConcurrentCalls());
+    }
+
+    @Bean
+    public MeterBinder serverCircuitBreakerMetrics(CircuitBreakerRegistry serverCircuitBreakers) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(serverCircuitBreakers);
+    }
+
+    @Bean
+    public MeterBinder serverBulkheadMetrics(BulkheadRegistry serverBulkheads) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(serverBulkheads);
+    }
+
+    @Bean
+    public MeterBinder serverBulkheadRejections(BulkheadRegistry serverBulkheads) {
+        return registry -> {
+            serverBulkheads.getAllBulkheads().forEach(bulkhead -> countRejections(registry, bulkhead));
+            serverBulkheads.getEventPublisher().onEntryAdded(event -> countRejections(registry, event.getAddedEntry()));
+        };
+    }
+
+    private static void countRejections(MeterRegistry registry, Bulkhead bulkhead) {
+        Counter rejected = Counter.builder("shareit.gateway.bulkhead.rejected")
+                .tag("group", bulkhead.getName())
+                .register(registry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.resilience")
+public class ResilienceProperties {
+    private final CircuitBreakerProperties circuitBreaker = new CircuitBreakerProperties();
+    private final BulkheadProperties bulkhead = new BulkheadProperties();
+
+    @Getter
+    @Setter
+    public static class CircuitBreakerProperties {
+        private float failureRateThreshold = 50;
+        /**
+         * Доля вызовов дольше {@link #slowCallDuration}, при которой автомат размыкается.
+         */
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDuration = Duration.ofSeconds(5);
+        private int slidingWindowSize = 50;
+        private int minimumNumberOfCalls = 20;
+        private Duration waitInOpenState = Duration.ofSeconds(10);
+        private int permittedCallsInHalfOpenState = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkheadProperties {
+        private int defaultMaxConcurrentCalls = 20;
+        /**
+         * Сколько вызов может ждать свободного места в группе, прежде чем получить отказ.
+         */
+        private Duration maxWait = Duration.ofSeconds(1);
+        /**
+         * Одновременные вызовы сервера по группам эндпоинтов: items, bookings, users, requests.
+         */
+        private Map<String, Integer> maxConcurrentCalls = new HashMap<>();
+    }
+}
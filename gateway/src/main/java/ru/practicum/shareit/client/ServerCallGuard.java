@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Supplier;
+
+/**
+ * Ограничение одновременных вызовов сервера и автомат для одной группы эндпоинтов.
+ * <p>
+ * Если группа уже занимает все разрешённые потоки или автомат разомкнут, вызов сразу завершается
+ * {@code BulkheadFullException} или {@code CallNotPermittedException}, не дожидаясь сервера.
+ */
+@RequiredArgsConstructor
+public class ServerCallGuard {
+    static final ServerCallGuard NONE = new ServerCallGuard(null, null);
+
+    private final Bulkhead bulkhead;
+    private final CircuitBreaker circuitBreaker;
+
+    public <T> T call(Supplier<T> call) {
+        if (bulkhead == null) {
+            return call.get();
+        }
+        return Bulkhead.decorateSupplier(bulkhead, CircuitBreaker.decorateSupplier(circuitBreaker, call)).get();
+    }
+}
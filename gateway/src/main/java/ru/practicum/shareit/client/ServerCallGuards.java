@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Выдаёт клиентам {@link ServerCallGuard} их группы эндпоинтов.
+ */
+@RequiredArgsConstructor
+public class ServerCallGuards {
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Map<String, Integer> maxConcurrentCalls;
+
+    public ServerCallGuard forGroup(String group) {
+        BulkheadConfig config = maxConcurrentCalls.containsKey(group)
+                ? BulkheadConfig.from(bulkheads.getDefaultConfig())
+                .maxConcurrentCalls(maxConcurrentCalls.get(group))
+                .build()
+                : bulkheads.getDefaultConfig();
+        return new ServerCallGuard(bulkheads.bulkhead(group, config), circuitBreakers.circuitBreaker(group));
+    }
+}
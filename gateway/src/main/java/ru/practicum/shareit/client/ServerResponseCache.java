@@ -0,0 +1,62 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Последние ответы сервера с ETag, по которым {@link BaseClient} делает условные запросы.
+ * <p>
+ * Ключ включает пользователя: ответ на один и тот же путь у владельца и у другого пользователя разный.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServerResponseCache implements MeterBinder {
+    private final Cache<String, Entry> cache;
+
+    public ServerResponseCache(@Value("${shareit.response-cache.max-size:10000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    @Nullable
+    Entry get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    void put(String key, Entry entry) {
+        cache.put(key, entry);
+    }
+
+    void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    static String key(@Nullable Long userId, String uri) {
+        return userId + " " + uri;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "shareit-server-responses");
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    static class Entry {
+        private final String etag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+    }
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Объединяет одинаковые одновременные запросы к серверу: пока первый ждёт ответа,
+ * остальные с тем же ключом не отправляются и получают его результат или исключение.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SingleFlight implements MeterBinder {
+    private final ConcurrentMap<String, CompletableFuture<Object>> calls = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+        CompletableFuture<Object> own = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = calls.putIfAbsent(key, own);
+        if (inFlight != null) {
+            coalesced.increment();
+            return (T) await(inFlight);
+        }
+        try {
+            T result = call.get();
+            own.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            calls.remove(key, own);
+        }
+    }
+
+    long coalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("shareit.gateway.requests.coalesced", coalesced, LongAdder::sum)
+                .description("Запросы, получившие ответ на такой же одновременный запрос")
+                .register(registry);
+        Gauge.builder("shareit.gateway.requests.in-flight", calls, ConcurrentMap::size)
+                .description("Запросы к серверу, к которым могут присоединиться одинаковые")
+                .register(registry);
+    }
+
+    private static Object await(CompletableFuture<Object> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
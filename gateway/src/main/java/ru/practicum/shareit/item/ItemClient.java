@@ -1,47 +1,72 @@
 package ru.practicum.shareit.item;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
     @Autowired
-    public ItemClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpClient httpClient, ServerCallGuards guards, ServerResponseCache cache,
+                      SingleFlight singleFlight) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> streamingRequestFactory(httpClient))
+                        .build(),
+                guards.forGroup("items"),
+                cache,
+                singleFlight
         );
     }
 
-    public ResponseEntity<Object> getItemByUser(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getItemByUser(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", userId, parameters);
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
 
-    public ResponseEntity<Object> searchItem(Long userId, String text, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> searchItem(Long userId, String text, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "text", text,
                 "from", from,
                 "size", size
+        ));
+        return getCached(withCursor("/search?text={text}&from={from}&size={size}", parameters, after), userId,
+                parameters, false);
+    }
+
+    public ResponseEntity<Object> getAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getCached("/" + itemId + "/availability?from={from}&to={to}", userId, parameters, false);
     }
 
     public ResponseEntity<Object> saveItem(ItemDto itemDto, Long userId) { //проверить
@@ -53,14 +78,27 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getItemById(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, userId);
     }
 
     public ResponseEntity<Object> deleteItem(Long userId, Long itemId) {
         return delete("/" + userId, itemId);
     }
 
+    /**
+     * Передаёт тело импорта на сервер потоком, не накапливая его в памяти шлюза.
+     */
+    public ResponseEntity<Object> importItems(Long userId, MediaType contentType, InputStream body) {
+        return post("/bulk", userId, contentType, new InputStreamResource(body));
+    }
+
     public ResponseEntity<Object> postComment(Long userId, Long itemId, CommentDto commentDto) {
         return post("/" + itemId + "/comment", userId, commentDto);
     }
-}
\ No newline at end of file
+
+    private static HttpComponentsClientHttpRequestFactory streamingRequestFactory(HttpClient httpClient) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+        requestFactory.setBufferRequestBody(false);
+        return requestFactory;
+    }
+}
@@ -2,24 +2,35 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.ratelimit.RateLimited;
 import ru.practicum.shareit.validation.Validation;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.client.BaseClient.bodyLength;
 
 /**
  * TODO Sprint add-controllers.
  */
 @RestController
 @RequestMapping("/items")
+@RateLimited("items")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemClient itemClient;
@@ -31,7 +42,18 @@ public class ItemController {
                                            @Min(value = 1, message = "User ID must be more than 0") Long userId) {
         log.info("Получен POST-запрос /items {} ", itemDto);
         ResponseEntity<Object> response = itemClient.saveItem(itemDto, userId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
+        return response;
+    }
+
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<Object> importItems(@RequestHeader(name = USER_ID_HEADER)
+                                              @Min(value = 1, message = "User ID must be more than 0") Long userId,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Получен POST-запрос /items/bulk, формат {}, от ID пользователя: {} ", request.getContentType(), userId);
+        ResponseEntity<Object> response = itemClient.importItems(userId,
+                MediaType.parseMediaType(request.getContentType()), request.getInputStream());
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -44,7 +66,7 @@ public class ItemController {
         log.info("Получен PATCH-запрос /itemId {} ", itemId);
         itemDto.setId(itemId);
         ResponseEntity<Object> response = itemClient.updateItem(itemDto, userId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -55,7 +77,7 @@ public class ItemController {
                                               Long itemId) {
         log.info("Получен GET-запрос /itemId {} ", itemId);
         ResponseEntity<Object> response = itemClient.getItemById(userId, itemId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -67,24 +89,43 @@ public class ItemController {
                                                  @Min(value = 0, message = "From must be more than 0") Integer from,
                                                  @RequestParam(name = "size", defaultValue = "20")
                                                      @Min(value = 0, message = "Size must be more than 0")
-                                                     Integer size) {
+                                                     Integer size,
+                                                 @RequestParam(required = false) String after) {
         log.info("Получен GET-запрос: список всех предметов одного пользователя {} ", userId);
-        ResponseEntity<Object> response = itemClient.getItemByUser(userId, from, size);
-        log.info("Ответ на запрос: {}", response);
+        ResponseEntity<Object> response = itemClient.getItemByUser(userId, from, size, after);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
     @GetMapping("/search")
+    @RateLimited("search")
     public ResponseEntity<Object> searchItem(@RequestHeader(name = USER_ID_HEADER)
                                              @Min(value = 1, message = "User ID must be more than 0") Long userId,
                                              @RequestParam String text,
                                              @RequestParam(name = "from", defaultValue = "0") @Min(value = 0,
                                                      message = "Parameter 'from' must be more than 0") Integer from,
                                              @RequestParam(name = "size", defaultValue = "20") @Min(value = 0,
-                                                     message = "Parameter 'size' must be more than 0") Integer size) {
+                                                     message = "Parameter 'size' must be more than 0") Integer size,
+                                             @RequestParam(required = false) String after) {
         log.info("Получен GET-запрос /text {} , от ID пользователя: {} ", text, userId);
-        ResponseEntity<Object> response = itemClient.searchItem(userId, text, from, size);
-        log.info("Ответ на запрос: {}", response);
+        ResponseEntity<Object> response = itemClient.searchItem(userId, text, from, size, after);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
+        return response;
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@RequestHeader(name = USER_ID_HEADER, required = false)
+                                                  @Min(value = 1, message = "User ID must be more than 0")
+                                                  Long userId,
+                                                  @PathVariable @Min(value = 1, message = "Item ID must be more than 0")
+                                                  Long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        log.info("Получен GET-запрос: свободные интервалы предмета {} с {} по {} ", itemId, from, to);
+        ResponseEntity<Object> response = itemClient.getAvailability(userId, itemId, from, to);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -97,7 +138,7 @@ public class ItemController {
         log.info("Получен POST-запрос: добавление отзыва {} о бронировании ID предмета {} от ID пользователя {}",
                 commentDto, itemId, userId);
         ResponseEntity<Object> response = itemClient.postComment(userId, itemId, commentDto);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -107,6 +148,6 @@ public class ItemController {
                            @PathVariable @Min(value = 1, message = "Item ID must be more than 0") Long itemId) {
         log.info("Получен DELETE- запрос на уаление предмета, ID: {}, ID от пользователя {}", itemId, userId);
         ResponseEntity<Object> response = itemClient.deleteItem(userId, itemId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
     }
 }
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/items";
+
+    @Autowired
+    public ReactiveItemClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> getItemByUser(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "from", from,
+                "size", size
+        ));
+        return get(withCursor("?from={from}&size={size}", parameters, after), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItem(Long userId, String text, Integer from, Integer size,
+                                                   String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        ));
+        return get(withCursor("/search?text={text}&from={from}&size={size}", parameters, after), userId,
+                parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(Long userId, Long itemId, LocalDateTime from,
+                                                        LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> saveItem(ItemDto itemDto, Long userId) {
+        return post("", userId, itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemDto itemDto, Long userId) {
+        return patch("/" + itemDto.getId(), userId, Map.of(), itemDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemById(Long userId, Long itemId) {
+        return get("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteItem(Long userId, Long itemId) {
+        return delete("/" + itemId, userId);
+    }
+
+    /**
+     * Передаёт тело импорта на сервер по мере поступления от клиента.
+     */
+    public Mono<ResponseEntity<Object>> importItems(Long userId, MediaType contentType, Flux<DataBuffer> body) {
+        return post("/bulk", userId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<Object>> postComment(Long userId, Long itemId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto);
+    }
+}
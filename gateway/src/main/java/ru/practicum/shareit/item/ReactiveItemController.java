@@ -0,0 +1,151 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.validation.Validation;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * {@link ItemController} для WebFlux: те же пути и проверки, ответ сервера ожидается без блокировки потока.
+ */
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveItemController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> saveItem(@NotNull @Validated(Validation.Post.class) @RequestBody
+                                                 ItemDto itemDto,
+                                                 @RequestHeader(name = USER_ID_HEADER)
+                                                 @Min(value = 1, message = "User ID must be more than 0")
+                                                 Long userId) {
+        log.info("Получен POST-запрос /items {} ", itemDto);
+        return itemClient.saveItem(itemDto, userId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader(name = USER_ID_HEADER)
+                                                    @Min(value = 1, message = "User ID must be more than 0")
+                                                    Long userId,
+                                                    ServerHttpRequest request) {
+        log.info("Получен POST-запрос /items/bulk, формат {}, от ID пользователя: {} ",
+                request.getHeaders().getContentType(), userId);
+        return itemClient.importItems(userId, request.getHeaders().getContentType(), request.getBody())
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(name = USER_ID_HEADER)
+                                                   @Min(value = 1, message = "User ID must be more than 0")
+                                                   Long userId,
+                                                   @NotNull @Validated(Validation.Patch.class) @RequestBody
+                                                   ItemDto itemDto,
+                                                   @PathVariable @Min(value = 1,
+                                                           message = "Item ID must be more than 0") Long itemId) {
+        log.info("Получен PATCH-запрос /itemId {} ", itemId);
+        itemDto.setId(itemId);
+        return itemClient.updateItem(itemDto, userId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getItemById(@RequestHeader(name = USER_ID_HEADER, required = false)
+                                                    @Min(value = 1, message = "User ID must be more than 0")
+                                                    Long userId,
+                                                    @PathVariable @Min(value = 1,
+                                                            message = "Item ID must be more than 0") Long itemId) {
+        log.info("Получен GET-запрос /itemId {} ", itemId);
+        return itemClient.getItemById(userId, itemId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getItemsByUser(@RequestHeader(name = USER_ID_HEADER, required = false)
+                                                       @Min(value = 0, message = "UserId must be more than 0")
+                                                       Long userId,
+                                                       @RequestParam(name = "from", defaultValue = "0")
+                                                       @Min(value = 0, message = "From must be more than 0")
+                                                       Integer from,
+                                                       @RequestParam(name = "size", defaultValue = "20")
+                                                       @Min(value = 0, message = "Size must be more than 0")
+                                                       Integer size,
+                                                       @RequestParam(required = false) String after) {
+        log.info("Получен GET-запрос: список всех предметов одного пользователя {} ", userId);
+        return itemClient.getItemByUser(userId, from, size, after)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItem(@RequestHeader(name = USER_ID_HEADER)
+                                                   @Min(value = 1, message = "User ID must be more than 0")
+                                                   Long userId,
+                                                   @RequestParam String text,
+                                                   @RequestParam(name = "from", defaultValue = "0") @Min(value = 0,
+                                                           message = "Parameter 'from' must be more than 0")
+                                                   Integer from,
+                                                   @RequestParam(name = "size", defaultValue = "20") @Min(value = 0,
+                                                           message = "Parameter 'size' must be more than 0")
+                                                   Integer size,
+                                                   @RequestParam(required = false) String after) {
+        log.info("Получен GET-запрос /text {} , от ID пользователя: {} ", text, userId);
+        return itemClient.searchItem(userId, text, from, size, after)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@RequestHeader(name = USER_ID_HEADER, required = false)
+                                                        @Min(value = 1, message = "User ID must be more than 0")
+                                                        Long userId,
+                                                        @PathVariable @Min(value = 1,
+                                                                message = "Item ID must be more than 0") Long itemId,
+                                                        @RequestParam
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        log.info("Получен GET-запрос: свободные интервалы предмета {} с {} по {} ", itemId, from, to);
+        return itemClient.getAvailability(userId, itemId, from, to)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> postComment(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User ID must be more than 0") Long userId,
+                                                    @PathVariable @Min(value = 1,
+                                                            message = "Item ID must be more than 0") Long itemId,
+                                                    @RequestBody @Validated CommentDto commentDto) {
+        log.info("Получен POST-запрос: добавление отзыва {} о бронировании ID предмета {} от ID пользователя {}",
+                commentDto, itemId, userId);
+        return itemClient.postComment(userId, itemId, commentDto)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @DeleteMapping("/{itemId}")
+    public Mono<Void> deleteItem(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User ID must be more than 0") Long userId,
+                                 @PathVariable @Min(value = 1, message = "Item ID must be more than 0") Long itemId) {
+        log.info("Получен DELETE- запрос на уаление предмета, ID: {}, ID от пользователя {}", itemId, userId);
+        return itemClient.deleteItem(userId, itemId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()))
+                .then();
+    }
+}
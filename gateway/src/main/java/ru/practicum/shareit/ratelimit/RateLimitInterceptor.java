@@ -0,0 +1,100 @@
+package ru.practicum.shareit.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exceptions.TooManyRequestsException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Отклоняет запрос пользователя до вызова контроллера, если его ведро в группе эндпоинтов пусто.
+ * <p>
+ * Ведро заводится на пользователя из {@code X-Sharer-User-Id}, а для запросов без него — на адрес клиента.
+ * Вёдра хранятся в кэше и удаляются после простоя, за который успели бы заполниться: такое удаление
+ * не даёт лишних токенов. Если же вёдер больше {@code shareit.rate-limit.max-buckets}, вытесняется
+ * и частично опустевшее ведро, и оно возвращается полным, поэтому предел нужно держать выше числа
+ * активных пар «клиент — группа».
+ */
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final Map<String, RateLimitProperties.Limit> limits;
+    private final Cache<String, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.limits = properties.getLimits();
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfter(new IdleUntilFull())
+                .build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String group = group((HandlerMethod) handler);
+        RateLimitProperties.Limit limit = group == null ? null : limits.get(group);
+        if (limit == null) {
+            return true;
+        }
+        String client = client(request);
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(group + ":" + client,
+                key -> new TokenBucket(limit.getPerSecond(), limit.getBurst(), now));
+        long waitNanos = bucket.tryAcquire(now);
+        if (waitNanos > 0) {
+            Counter.builder("shareit.gateway.rate-limit.rejected")
+                    .tag("group", group)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Превышен лимит запросов {} для {}", group, client);
+            throw new TooManyRequestsException("Превышен лимит запросов " + group, Duration.ofNanos(waitNanos));
+        }
+        return true;
+    }
+
+    private static String client(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        return userId != null ? "user:" + userId : "addr:" + request.getRemoteAddr();
+    }
+
+    private static String group(HandlerMethod handler) {
+        RateLimited rateLimited = handler.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            rateLimited = AnnotatedElementUtils.findMergedAnnotation(handler.getBeanType(), RateLimited.class);
+        }
+        return rateLimited == null ? null : rateLimited.value();
+    }
+
+    private static class IdleUntilFull implements Expiry<String, TokenBucket> {
+        @Override
+        public long expireAfterCreate(String key, TokenBucket bucket, long currentTime) {
+            return bucket.refillNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.refillNanos();
+        }
+
+        @Override
+        public long expireAfterRead(String key, TokenBucket bucket, long currentTime, long currentDuration) {
+            return bucket.refillNanos();
+        }
+    }
+}
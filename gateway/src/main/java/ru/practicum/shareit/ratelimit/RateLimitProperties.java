@@ -0,0 +1,38 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "shareit.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /**
+     * Сколько вёдер (клиент и группа эндпоинтов) хранится одновременно; при вытеснении по размеру
+     * частично опустевшее ведро теряется и создаётся заново полным.
+     */
+    private long maxBuckets = 100_000;
+    /**
+     * Лимиты по группам из {@link RateLimited}; нулевая скорость или ёмкость останавливает запуск.
+     */
+    @Valid
+    private Map<String, Limit> limits = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        @Positive
+        private double perSecond;
+        @Positive
+        private int burst;
+    }
+}
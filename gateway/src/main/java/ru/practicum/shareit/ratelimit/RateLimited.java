@@ -0,0 +1,15 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Группа эндпоинтов с общим лимитом {@code shareit.rate-limit.limits.<имя>}; на методе переопределяет группу класса.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ведро токенов без блокировок. Всё состояние — момент, когда ведро снова будет полным:
+ * каждый токен сдвигает его на один интервал, а запрос отклоняется, если момент уходит дальше,
+ * чем вмещает ведро.
+ */
+class TokenBucket {
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double perSecond, int burst, long now) {
+        this.nanosPerToken = (long) (1_000_000_000L / perSecond);
+        this.capacityNanos = nanosPerToken * burst;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Забирает токен.
+     *
+     * @return 0, если токен получен, иначе сколько наносекунд ждать следующего
+     */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerToken;
+            long excess = next - now - capacityNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Через сколько наносекунд простоя пустое ведро снова заполнится.
+     */
+    long refillNanos() {
+        return capacityNanos;
+    }
+}
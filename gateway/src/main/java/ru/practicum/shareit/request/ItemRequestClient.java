@@ -1,25 +1,35 @@
 package ru.practicum.shareit.request;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.request.dto.RequestDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder,
+                             HttpClient httpClient, ServerCallGuards guards, ServerResponseCache cache,
+                             SingleFlight singleFlight) {
         super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl +
-                API_PREFIX)).requestFactory(HttpComponentsClientHttpRequestFactory::new).build());
+                API_PREFIX)).requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient)).build(),
+                guards.forGroup("requests"), cache, singleFlight);
     }
 
     public ResponseEntity<Object> addItemRequest(Long userId, RequestDto requestDto) {
@@ -33,14 +43,14 @@ public class ItemRequestClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestsAll(Long userId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getRequestsAll(Long userId, Integer from, Integer size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
-                "size", size);
-        return get("/all?from={from}&size={size}", userId, parameters);
+                "size", size));
+        return get(withCursor("/all?from={from}&size={size}", parameters, after), userId, parameters);
     }
 
     public ResponseEntity<Object> getRequestById(Long userId, Long requestId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId);
     }
 }
\ No newline at end of file
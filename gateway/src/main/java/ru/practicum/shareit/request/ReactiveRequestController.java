@@ -0,0 +1,78 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.RequestDto;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+
+/**
+ * {@link RequestController} для WebFlux: те же пути и проверки, ответ сервера ожидается без блокировки потока.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+@RequestMapping(path = "/requests")
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestController {
+    private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private final ReactiveItemRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addItemRequest(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User id should be more than 0") Long userId,
+                                                       @Validated @RequestBody(required = false)
+                                                       RequestDto requestDto) {
+        log.info("Получен POST-запрос /requests {} ", requestDto);
+        return requestClient.addItemRequest(userId, requestDto)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getRequests(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User id should be more than 0") Long userId,
+                                                    @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                    @RequestParam(defaultValue = "10") @Positive Integer size) {
+        log.info("Получен GET-запрос от ID пользователя {} на получение списка своих запросов вместе с данными о них." +
+                " Результаты возвращаются постранично от {}, в количестве {}.", userId, from, size);
+        return requestClient.requestsGet(userId, from, size)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping(path = "/all")
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User id should be more than 0") Long userId,
+                                                       @RequestParam(name = "from", defaultValue = "0") @Min(value = 0,
+                                                               message = "Parameter 'from' must be more than 0")
+                                                       Integer from,
+                                                       @RequestParam(name = "size", defaultValue = "20") @Min(value = 0,
+                                                               message = "Parameter 'size' must be more than 0")
+                                                       Integer size,
+                                                       @RequestParam(required = false) String after) {
+        log.info("Получен GET-запрос от ID пользователя {} на получение списка запросов, " +
+                "созданных другими пользователями. " +
+                "Результаты возвращаются постранично от {} в количестве {}.", userId, from, size);
+        return requestClient.getRequestsAll(userId, from, size, after)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getRequestById(@RequestHeader(name = USER_ID_HEADER) @Min(value = 1,
+            message = "User id should be more than 0") Long userId,
+                                                       @PathVariable @Min(value = 1,
+                                                               message = "Request id should be more than 0")
+                                                       Long requestId) {
+        log.info("Получен GET-запрос от ID пользователя {} " +
+                "на получение данных об одном конкретном запросе ID: {} с данными об ответах.", userId, requestId);
+        return requestClient.getRequestById(userId, requestId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+}
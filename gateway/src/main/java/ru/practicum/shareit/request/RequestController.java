@@ -2,15 +2,19 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.ratelimit.RateLimited;
 import ru.practicum.shareit.request.dto.RequestDto;
 
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 
+import static ru.practicum.shareit.client.BaseClient.bodyLength;
+
 /**
  * TODO Sprint add-item-requests.
  */
@@ -18,7 +22,9 @@ import javax.validation.constraints.PositiveOrZero;
 @RequiredArgsConstructor
 @Slf4j
 @RequestMapping(path = "/requests")
+@RateLimited("requests")
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemRequestClient requestClient;
@@ -29,7 +35,7 @@ public class RequestController {
                                                  @Validated @RequestBody(required = false) RequestDto requestDto) {
         log.info("Получен POST-запрос /requests {} ", requestDto);
         ResponseEntity<Object> response = requestClient.addItemRequest(userId, requestDto);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -43,7 +49,7 @@ public class RequestController {
         log.info("Получен GET-запрос от ID пользователя {} на получение списка своих запросов вместе с данными о них." +
                 " Результаты возвращаются постранично от {}, в количестве {}.", userId, from, size);
         ResponseEntity<Object> response = requestClient.requestsGet(userId, from, size);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -55,12 +61,13 @@ public class RequestController {
                                                       Integer from,
                                                       @RequestParam(name = "size", defaultValue = "20") @Min(value = 0,
                                                               message = "Parameter 'size' must be more than 0")
-                                                     Integer size) {
+                                                     Integer size,
+                                                      @RequestParam(required = false) String after) {
         log.info("Получен GET-запрос от ID польбзователя {} на получение списка запросов, " +
                 "созданных другимим пользователями. " +
                 "Результаты возвращаются постранично от {} в количестве {}.", userId, from, size);
-        ResponseEntity<Object> response = requestClient.getRequestsAll(userId, from, size);
-        log.info("Ответ на запрос: {}", response);
+        ResponseEntity<Object> response = requestClient.getRequestsAll(userId, from, size, after);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -72,7 +79,7 @@ public class RequestController {
         log.info("Получен GET-запрос от ID пользователя {} " +
                 "на получение данных об одном конкретном запросе ID: {} с данными об ответах.", userId, requestId);
         ResponseEntity<Object> response = requestClient.getRequestById(userId, requestId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 }
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Map;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    @Autowired
+    public ReactiveUserClient(@Value("${shareit.server.url}") String serverUrl, WebClient.Builder builder) {
+        super(builder.baseUrl(serverUrl + API_PREFIX).build());
+    }
+
+    public Mono<ResponseEntity<Object>> addUser(UserDto userDto) {
+        return post("", null, userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserDto userDto) {
+        return patch("/" + userId, null, Map.of(), userDto);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(Long userId) {
+        return get("/" + userId, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        return get("", null);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId, null);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.validation.Validation;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * {@link UserController} для WebFlux: те же пути и проверки, ответ сервера ожидается без блокировки потока.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveUserController {
+    private final ReactiveUserClient userClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsers() {
+        log.info("Получен GET-апрос /users");
+        return userClient.getAllUsers()
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @GetMapping("{userId}")
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable @Min(value = 1,
+            message = "User ID must be more than 0") Long userId) {
+        log.info("Получен GET-запрос /userId {} ", userId);
+        return userClient.getUser(userId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> saveUser(@NotNull @Validated(Validation.Post.class) @RequestBody
+                                                 UserDto userDto) {
+        log.info("Получен POST-запрос /users {} ", userDto);
+        return userClient.addUser(userDto)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+
+    @DeleteMapping("{userId}")
+    public Mono<Void> deleteUser(@PathVariable @Min(value = 1, message = "User ID must be more than 0") Long userId) {
+        log.info("Получен DELETE-запрос /users/:userId {} ", userId);
+        return userClient.deleteUser(userId)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()))
+                .then();
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> updateUser(@NotNull @Validated(Validation.Patch.class) @RequestBody
+                                                   UserDto userDto,
+                                                   @PathVariable @Min(value = 1,
+                                                           message = "User ID must be more than 0") Long userId) {
+        log.info("Получен PATCH-запрос /userId {} на изменение данных: {} ", userId, userDto);
+        return userClient.updateUser(userId, userDto)
+                .doOnNext(response -> log.info("Ответ на запрос: {}", response.getStatusCode()));
+    }
+}
@@ -1,26 +1,37 @@
 package ru.practicum.shareit.user;
 
+import org.apache.http.client.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder,
+                      HttpClient httpClient, ServerCallGuards guards, ServerResponseCache cache,
+                      SingleFlight singleFlight) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                        .build(),
+                guards.forGroup("users"),
+                cache,
+                singleFlight
         );
     }
 
@@ -33,7 +44,7 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+        return getCached("/" + userId, null);
     }
 
     public ResponseEntity<Object> getAllUsers() {
@@ -2,6 +2,7 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -11,6 +12,8 @@ import ru.practicum.shareit.validation.Validation;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
+import static ru.practicum.shareit.client.BaseClient.bodyLength;
+
 /**
  * TODO Sprint add-controllers.
  */
@@ -19,6 +22,7 @@ import javax.validation.constraints.NotNull;
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
 @Validated
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class UserController {
 
     private final UserClient userClient;
@@ -27,7 +31,7 @@ public class UserController {
     public ResponseEntity<Object> getAllUsers() {
         log.info("Получен GET-апрос /users");
         ResponseEntity<Object> response = userClient.getAllUsers();
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -36,7 +40,7 @@ public class UserController {
                                                   Long userId) {
         log.info("Получен GET-запрос /userId {} ", userId);
         ResponseEntity<Object> response = userClient.getUser(userId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -44,7 +48,7 @@ public class UserController {
     public ResponseEntity<Object> saveUser(@NotNull @Validated(Validation.Post.class) @RequestBody UserDto userDto) {
         log.info("Получен POST-запрос /users {} ", userDto);
         ResponseEntity<Object> response = userClient.addUser(userDto);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 
@@ -52,7 +56,7 @@ public class UserController {
     public void deleteUser(@PathVariable @Min(value = 1, message = "User ID must be more than 0") Long userId) {
         log.info("Получен DELETE-запрос /users/:userId {} ", userId);
         ResponseEntity<Object> response = userClient.deleteUser(userId);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
 
     }
 
@@ -62,7 +66,7 @@ public class UserController {
                                       message = "User ID must be more than 0") Long userId) {
         log.info("Получен PATCH-запрос /userId {} на изменение данных: {} ", userId, userDto);
         ResponseEntity<Object> response = userClient.updateUser(userId, userDto);
-        log.info("Ответ на запрос: {}", response);
+        log.info("Ответ на запрос: {}, тело {} байт", response.getStatusCode(), bodyLength(response));
         return response;
     }
 }
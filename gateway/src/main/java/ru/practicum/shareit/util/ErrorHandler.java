@@ -1,12 +1,19 @@
 package ru.practicum.shareit.util;
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.exceptions.MethodArgumentNotValidException;
+import ru.practicum.shareit.exceptions.TooManyRequestsException;
 
 import javax.validation.ConstraintViolationException;
 
@@ -34,6 +41,43 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage(), "Несоответствующий тип аргумента метода");
     }
 
+    /**
+     * Ошибки разбора запроса в WebFlux, например {@code WebExchangeBindException} при проверке тела.
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(final ResponseStatusException e) {
+        log.error("Получен статус {} {}", e.getStatus(), e.getMessage());
+        return ResponseEntity.status(e.getStatus()).body(new ErrorResponse(e.getMessage(), e.getReason()));
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(final TooManyRequestsException e) {
+        long retryAfterSeconds = Math.max(1, (e.getRetryAfter().toMillis() + 999) / 1000);
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse(e.getMessage(), "Слишком много запросов"));
+    }
+
+    /**
+     * Сервер не ответил вовремя, недоступен или в пуле нет свободного соединения.
+     */
+    @ExceptionHandler(ResourceAccessException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleResourceAccessException(final ResourceAccessException e) {
+        log.error("Получен статус 503 Service unavailable {}", e.getMessage());
+        return new ErrorResponse(e.getMessage(), "Сервер недоступен");
+    }
+
+    /**
+     * Группа эндпоинтов уже занимает все разрешённые вызовы сервера или её автомат разомкнут.
+     */
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerOverloaded(final RuntimeException e) {
+        log.warn("Получен статус 503 Service unavailable {}", e.getMessage());
+        return new ErrorResponse(e.getMessage(), "Сервер перегружен, повторите запрос позже");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final RuntimeException e) {
@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(OutputCaptureExtension.class)
+class ReactiveGatewayConfigurationTest {
+
+    @Test
+    void servletOnlyProtectionIsReportedTest(CapturedOutput output) {
+        new ReactiveGatewayConfiguration(new MockEnvironment()).warnAboutServletOnlyProtection();
+
+        assertTrue(output.getOut().contains("shareit.response-cache.*"));
+        assertTrue(output.getOut().contains("shareit.resilience.*"));
+        assertTrue(output.getOut().contains("shareit.rate-limit.*"));
+    }
+
+    @Test
+    void disabledRateLimitIsNotReportedTest(CapturedOutput output) {
+        new ReactiveGatewayConfiguration(new MockEnvironment().withProperty("shareit.rate-limit.enabled", "false"))
+                .warnAboutServletOnlyProtection();
+
+        assertTrue(output.getOut().contains("shareit.resilience.*"));
+        assertFalse(output.getOut().contains("shareit.rate-limit.*"));
+    }
+}
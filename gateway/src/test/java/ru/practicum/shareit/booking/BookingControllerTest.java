@@ -225,7 +225,7 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -240,7 +240,7 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", wrongUserId))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -302,7 +302,7 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -317,7 +317,7 @@ public class BookingControllerTest {
                         .header("X-Sharer-User-Id", wrongUserId))
                 .andExpect(status().isBadRequest());
 
-        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt());
+        verify(bookingClient, never()).getUserBookings(anyLong(), any(State.class), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.State;
+import ru.practicum.shareit.util.ErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@ContextConfiguration(classes = {ReactiveBookingController.class, ErrorHandler.class})
+public class ReactiveBookingControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveBookingClient bookingClient;
+
+    private BookingDto bookingDto;
+    private final Long userId = 1L;
+
+    @BeforeEach
+    public void init() {
+        bookingDto = BookingDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.now().plusHours(1))
+                .end(LocalDateTime.now().plusHours(2))
+                .build();
+    }
+
+    @Test
+    public void saveBookingNormal() {
+        byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        when(bookingClient.saveBooking(anyLong(), any(BookingDto.class))).thenReturn(Mono.just(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        webTestClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingDto)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody().json("{\"id\":1}");
+    }
+
+    @Test
+    public void saveBookingWrongUserId() {
+        webTestClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "-999")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).saveBooking(anyLong(), any());
+    }
+
+    @Test
+    public void saveBookingStartInPast() {
+        bookingDto.setStart(LocalDateTime.now().minusDays(1));
+
+        webTestClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).saveBooking(anyLong(), any());
+    }
+
+    @Test
+    public void saveBookingWithoutUserHeader() {
+        webTestClient.post().uri("/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void getAllBookingsForBookerUnknownState() {
+        webTestClient.get().uri("/bookings?state=UNSUPPORTED")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Unknown state: UNSUPPORTED");
+    }
+
+    @Test
+    public void getAllBookingsForOwnerWrongFrom() {
+        webTestClient.get().uri("/bookings/owner?from=-1")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(bookingClient, never()).getOwnerBookings(anyLong(), any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void getAllBookingsForOwnerNormal() {
+        when(bookingClient.getOwnerBookings(eq(userId), eq(State.WAITING), eq(0), eq(10), any()))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        webTestClient.get().uri("/bookings/owner?state=waiting")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(bookingClient).getOwnerBookings(eq(userId), eq(State.WAITING), eq(0), eq(10), any());
+    }
+}
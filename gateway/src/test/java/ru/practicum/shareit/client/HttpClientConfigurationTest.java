@@ -0,0 +1,42 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class HttpClientConfigurationTest {
+    private final HttpClientConfiguration configuration = new HttpClientConfiguration();
+
+    @Test
+    void connectionManagerUsesPoolSettingsTest() {
+        PoolingHttpClientConnectionManager connectionManager =
+                configuration.serverConnectionManager(50, 20, Duration.ofSeconds(1));
+
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(1000, connectionManager.getValidateAfterInactivity());
+        connectionManager.close();
+    }
+
+    @Test
+    void poolMetricsArePublishedTest() {
+        PoolingHttpClientConnectionManager connectionManager =
+                configuration.serverConnectionManager(50, 20, Duration.ofSeconds(1));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        configuration.serverConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(50, registry.get("httpcomponents.httpclient.pool.total.max").gauge().value());
+        assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+        assertNotNull(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge());
+        assertNotNull(registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "available").gauge());
+        connectionManager.close();
+    }
+}
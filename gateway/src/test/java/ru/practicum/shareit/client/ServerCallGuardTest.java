@@ -0,0 +1,127 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerCallGuardTest {
+    private final ResilienceConfiguration configuration = new ResilienceConfiguration();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private CircuitBreakerRegistry circuitBreakers;
+    private BulkheadRegistry bulkheads;
+    private ServerCallGuards guards;
+
+    @BeforeEach
+    void setUp() {
+        ResilienceProperties properties = new ResilienceProperties();
+        properties.getCircuitBreaker().setSlidingWindowSize(4);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(4);
+        properties.getBulkhead().setMaxConcurrentCalls(Map.of("bookings", 1));
+        properties.getBulkhead().setMaxWait(Duration.ZERO);
+        circuitBreakers = configuration.serverCircuitBreakers(properties);
+        bulkheads = configuration.serverBulkheads(properties);
+        guards = configuration.serverCallGuards(circuitBreakers, bulkheads, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void busyGroupIsRejectedWithoutWaitingTest() throws Exception {
+        ServerCallGuard bookings = guards.forGroup("bookings");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        configuration.serverBulkheadRejections(bulkheads).bindTo(registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> bookings.call(() -> {
+            started.countDown();
+            await(release);
+            return "ok";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(BulkheadFullException.class, () -> bookings.call(() -> "ok"));
+        assertEquals("ok", guards.forGroup("items").call(() -> "ok"));
+        release.countDown();
+
+        assertEquals(1, registry.get("shareit.gateway.bulkhead.rejected").tag("group", "bookings")
+                .counter().count());
+    }
+
+    @Test
+    void serverFailuresOpenCircuitTest() {
+        ServerCallGuard items = guards.forGroup("items");
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            assertThrows(ResourceAccessException.class, () -> items.call(() -> {
+                calls.incrementAndGet();
+                throw new ResourceAccessException("Read timed out");
+            }));
+            assertThrows(HttpServerErrorException.class, () -> items.call(() -> {
+                calls.incrementAndGet();
+                throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("items").getState());
+        assertThrows(CallNotPermittedException.class, () -> items.call(calls::incrementAndGet));
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void clientErrorsDoNotOpenCircuitTest() {
+        ServerCallGuard items = guards.forGroup("items");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> items.call(() -> {
+                throw new HttpClientErrorException(HttpStatus.NOT_FOUND);
+            }));
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("items").getState());
+    }
+
+    @Test
+    void circuitStateIsPublishedTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        configuration.serverCircuitBreakerMetrics(circuitBreakers).bindTo(registry);
+
+        guards.forGroup("users").call(() -> "ok");
+
+        assertEquals(1, registry.get("resilience4j.circuitbreaker.state")
+                .tag("name", "users").tag("state", "closed").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+    private final SingleFlight singleFlight = new SingleFlight();
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @Test
+    void concurrentCallsWithSameKeyShareResultTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Object response = new Object();
+
+        Future<Object> first = executor.submit(() -> singleFlight.execute("1 /items/7", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return response;
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> second = executor.submit(() -> singleFlight.execute("1 /items/7", () -> {
+            calls.incrementAndGet();
+            return new Object();
+        }));
+        while (singleFlight.coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertSame(response, first.get(5, TimeUnit.SECONDS));
+        assertSame(response, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void failureIsSharedAndNextCallGoesToServerTest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Object> first = executor.submit(() -> singleFlight.execute("/items/search?text=drill", () -> {
+            started.countDown();
+            await(release);
+            throw new IllegalStateException("Сервер недоступен");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        Future<Object> second = executor.submit(() -> singleFlight.execute("/items/search?text=drill",
+                Object::new));
+        while (singleFlight.coalesced() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Exception firstError = assertThrows(Exception.class, () -> first.get(5, TimeUnit.SECONDS));
+        Exception secondError = assertThrows(Exception.class, () -> second.get(5, TimeUnit.SECONDS));
+        assertSame(firstError.getCause(), secondError.getCause());
+        assertEquals("ok", singleFlight.execute("/items/search?text=drill", () -> "ok"));
+        executor.shutdown();
+    }
+
+    @Test
+    void coalescedCallsArePublishedTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        singleFlight.bindTo(registry);
+
+        singleFlight.execute("1 /items/7", () -> "ok");
+
+        assertEquals(0, registry.get("shareit.gateway.requests.coalesced").functionCounter().count());
+        assertEquals(0, registry.get("shareit.gateway.requests.in-flight").gauge().value());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
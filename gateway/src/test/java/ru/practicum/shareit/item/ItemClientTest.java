@@ -1,14 +1,43 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.apache.http.impl.client.HttpClients;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.client.ServerCallGuards;
+import ru.practicum.shareit.client.ServerResponseCache;
+import ru.practicum.shareit.client.SingleFlight;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -60,4 +89,193 @@ class ItemClientTest {
                 .andExpect(status().isBadRequest());
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCursorIsPassedToServerAndNextCursorReturned() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "Nw");
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=2&after=Mw"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=2"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> withCursor = client.searchItem(1L, "drill", 0, 2, "Mw");
+        ResponseEntity<Object> withoutCursor = client.searchItem(1L, "drill", 0, 2, null);
+
+        server.verify();
+        assertEquals("Nw", withCursor.getHeaders().getFirst("X-Next-Cursor"));
+        assertNull(withoutCursor.getHeaders().getFirst("X-Next-Cursor"));
+    }
+
+    @Test
+    void testHopByHopHeadersAreNotPassedToClient() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "Nw");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        headers.set("Keep-Alive", "timeout=60");
+        headers.setContentLength(2);
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=2"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.searchItem(1L, "drill", 0, 2, null);
+
+        server.verify();
+        assertEquals("Nw", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.TRANSFER_ENCODING));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONNECTION));
+        assertNull(response.getHeaders().getFirst("Keep-Alive"));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    void testServerErrorIsPassedThroughWithContentType() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        String error = "{\"error\":\"Предмет не найден\"}";
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error.getBytes(StandardCharsets.UTF_8)));
+
+        ResponseEntity<Object> response = client.getItemById(1L, 7L);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void testImportStreamsBodyWithOriginalContentType() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        String csv = "name,description,available\nДрель,Дрель,true\n";
+        server.expect(requestTo("http://localhost:9090/items/bulk"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(content().bytes(csv.getBytes(StandardCharsets.UTF_8)))
+                .andRespond(withSuccess("[{\"row\":1,\"id\":5}]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.importItems(1L, MediaType.parseMediaType("text/csv;charset=UTF-8"),
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        server.verify();
+        assertArrayEquals("[{\"row\":1,\"id\":5}]".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void testRepeatedGetIsRevalidatedWithEtag() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        String item = "{\"id\":7,\"name\":\"Дрель\"}";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"0a1b\"");
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andRespond(withSuccess(item.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON)
+                        .headers(headers));
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0a1b\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(item.getBytes(StandardCharsets.UTF_8), MediaType.APPLICATION_JSON));
+
+        client.getItemById(1L, 7L);
+        ResponseEntity<Object> revalidated = client.getItemById(1L, 7L);
+        client.getItemById(2L, 7L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, revalidated.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, revalidated.getHeaders().getContentType());
+        assertArrayEquals(item.getBytes(StandardCharsets.UTF_8), (byte[]) revalidated.getBody());
+    }
+
+    @Test
+    void testAvailabilityIsRequestedWithInterval() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        server.expect(requestTo("http://localhost:9090/items/7/availability"
+                        + "?from=2050-03-01T00%3A00&to=2050-03-02T12%3A30"))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = client.getAvailability(1L, 7L, LocalDateTime.of(2050, 3, 1, 0, 0),
+                LocalDateTime.of(2050, 3, 2, 12, 30));
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    @Test
+    void testNotFoundDropsCachedResponse() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"0a1b\"");
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andRespond(withSuccess("{\"id\":7}", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0a1b\""))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo("http://localhost:9090/items/7"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        client.getItemById(1L, 7L);
+        client.getItemById(1L, 7L);
+        ResponseEntity<Object> response = client.getItemById(1L, 7L);
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    @Test
+    void testSearchIsSharedBetweenUsers() {
+        ItemClient client = newClient();
+        MockRestServiceServer server = MockRestServiceServer
+                .bindTo((RestTemplate) ReflectionTestUtils.getField(client, "rest"))
+                .build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"0c2d\"");
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=2"))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo("http://localhost:9090/items/search?text=drill&from=0&size=2"))
+                .andExpect(header("X-Sharer-User-Id", "2"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"0c2d\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        client.searchItem(1L, "drill", 0, 2, null);
+        ResponseEntity<Object> response = client.searchItem(2L, "drill", 0, 2, null);
+
+        server.verify();
+        assertArrayEquals("[]".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    private static ItemClient newClient() {
+        ServerCallGuards guards = new ServerCallGuards(CircuitBreakerRegistry.ofDefaults(),
+                BulkheadRegistry.ofDefaults(), Map.of());
+        return new ItemClient("http://localhost:9090", new RestTemplateBuilder(), HttpClients.createDefault(), guards,
+                new ServerResponseCache(100), new SingleFlight());
+    }
+}
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,17 +14,26 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.ResourceAccessException;
 
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.ErrorHandler;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest
@@ -57,6 +68,33 @@ public class ItemControllerTest {
     }
 
 
+    @SneakyThrows
+    @Test
+    public void importItems_Ndjson() {
+        when(itemClient.importItems(eq(userId), eq(MediaType.parseMediaType("application/x-ndjson")), any()))
+                .thenReturn(new ResponseEntity<>(List.of(Map.of("row", 1, "id", 1)), HttpStatus.OK));
+
+        mockMvc.perform(post("/items/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(objectMapper.writeValueAsString(itemDto) + "\n")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+
+        verify(itemClient).importItems(eq(userId), eq(MediaType.parseMediaType("application/x-ndjson")), any());
+    }
+
+    @SneakyThrows
+    @Test
+    public void importItems_UnsupportedMediaType() {
+        mockMvc.perform(post("/items/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemClient, never()).importItems(anyLong(), any(), any());
+    }
+
     @SneakyThrows
     @Test
     public void addItem_Normal() {
@@ -143,6 +181,32 @@ public class ItemControllerTest {
         verify(itemClient, never()).saveItem(any(), anyLong());
     }
 
+    @SneakyThrows
+    @Test
+    public void getAvailability_Normal() {
+        LocalDateTime from = LocalDateTime.of(2050, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2050, 3, 2, 0, 0);
+        when(itemClient.getAvailability(userId, 1L, from, to)).thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "2050-03-01T00:00:00")
+                        .param("to", "2050-03-02T00:00:00")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    public void getAvailability_WrongDate() {
+        mockMvc.perform(get("/items/1/availability")
+                        .param("from", "01.03.2050")
+                        .param("to", "2050-03-02T00:00:00")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getAvailability(any(), any(), any(), any());
+    }
+
     @SneakyThrows
     @Test
     public void updateItem_Normal() {
@@ -189,7 +253,7 @@ public class ItemControllerTest {
     @SneakyThrows
     @Test
     public void getAllItems_Normal() {
-        when(itemClient.getItemByUser(anyLong(), anyInt(), anyInt())).thenReturn(
+        when(itemClient.getItemByUser(nullable(Long.class), anyInt(), anyInt(), any())).thenReturn(
                 new ResponseEntity<>(new ItemDto(), HttpStatus.OK));
 
         mockMvc.perform(get("/items")
@@ -204,6 +268,20 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    public void getAllItems_WithCursor() {
+        when(itemClient.getItemByUser(userId, 0, 20, "Mw")).thenReturn(
+                ResponseEntity.ok().header("X-Next-Cursor", "Nw").body(new ItemDto()));
+
+        mockMvc.perform(get("/items")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .param("after", "Mw")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "Nw"));
+    }
+
     @SneakyThrows
     @Test
     public void getAllItems_WrongId() {
@@ -216,7 +294,7 @@ public class ItemControllerTest {
                         .header("X-Sharer-User-Id", wrongUserId))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).getItemByUser(anyLong(), anyInt(), anyInt());
+        verify(itemClient, never()).getItemByUser(anyLong(), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -240,7 +318,7 @@ public class ItemControllerTest {
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).getItemByUser(anyLong(), anyInt(), anyInt());
+        verify(itemClient, never()).getItemByUser(anyLong(), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -255,6 +333,43 @@ public class ItemControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    public void getItem_ServerBytesArePassedThrough() {
+        byte[] body = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+        when(itemClient.getItemById(anyLong(), anyLong())).thenReturn(ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(body));
+    }
+
+    @SneakyThrows
+    @Test
+    public void getItem_ServerUnavailable() {
+        when(itemClient.getItemById(anyLong(), anyLong())).thenThrow(new ResourceAccessException(
+                "Timeout waiting for connection from pool"));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @SneakyThrows
+    @Test
+    public void getItem_CircuitOpen() {
+        when(itemClient.getItemById(anyLong(), anyLong())).thenThrow(CallNotPermittedException
+                .createCallNotPermittedException(CircuitBreaker.ofDefaults("items")));
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", userId))
+                .andExpect(status().isServiceUnavailable());
+    }
+
     @SneakyThrows
     @Test
     public void getItem_WrongUserId() {
@@ -283,7 +398,7 @@ public class ItemControllerTest {
     @SneakyThrows
     @Test
     public void searchItem_Normal() {
-        when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt())).thenReturn(
+        when(itemClient.searchItem(anyLong(), anyString(), anyInt(), anyInt(), any())).thenReturn(
                 new ResponseEntity<>(new ItemDto(), HttpStatus.OK));
 
         String text = "this is text";
@@ -310,7 +425,7 @@ public class ItemControllerTest {
                         .param("text", text))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
+        verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
@@ -335,7 +450,7 @@ public class ItemControllerTest {
                         .param("text", text))
                 .andExpect(status().isBadRequest());
 
-        verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt());
+        verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt(), any());
     }
 
     @SneakyThrows
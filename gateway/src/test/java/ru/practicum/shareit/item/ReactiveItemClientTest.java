@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ReactiveItemClientTest {
+    private final List<ClientRequest> requests = new ArrayList<>();
+
+    private ReactiveItemClient client(ClientResponse response) {
+        return new ReactiveItemClient("http://localhost:9090", WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(response);
+                }));
+    }
+
+    @Test
+    void testSearchPassesCursorAndServerHeaders() {
+        ReactiveItemClient client = client(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header("X-Next-Cursor", "Nw")
+                .header(HttpHeaders.TRANSFER_ENCODING, "chunked")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body("[]")
+                .build());
+
+        ResponseEntity<Object> response = client.searchItem(1L, "drill", 0, 2, "Mw").block();
+
+        assertEquals("http://localhost:9090/items/search?text=drill&from=0&size=2&after=Mw",
+                requests.get(0).url().toString());
+        assertEquals("1", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Nw", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertNull(response.getHeaders().getFirst(HttpHeaders.TRANSFER_ENCODING));
+        assertNull(response.getHeaders().getFirst(HttpHeaders.CONNECTION));
+        assertArrayEquals("[]".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void testServerErrorIsPassedThrough() {
+        String error = "{\"error\":\"Предмет не найден\"}";
+        ReactiveItemClient client = client(ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(error)
+                .build());
+
+        ResponseEntity<Object> response = client.getItemById(1L, 7L).block();
+
+        assertEquals("http://localhost:9090/items/7", requests.get(0).url().toString());
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void testDeleteSendsItemIdInPathAndUserIdInHeader() {
+        ReactiveItemClient client = client(ClientResponse.create(HttpStatus.OK).build());
+
+        client.deleteItem(1L, 7L).block();
+
+        assertEquals(HttpMethod.DELETE, requests.get(0).method());
+        assertEquals("http://localhost:9090/items/7", requests.get(0).url().toString());
+        assertEquals("1", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+    }
+}
@@ -0,0 +1,164 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.util.ErrorHandler;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@ContextConfiguration(classes = {ReactiveItemController.class, ErrorHandler.class})
+public class ReactiveItemControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveItemClient itemClient;
+
+    private ItemDto itemDto;
+    private final Long userId = 1L;
+
+    @BeforeEach
+    public void init() {
+        itemDto = ItemDto.builder()
+                .name("name")
+                .description("description")
+                .available(true)
+                .build();
+    }
+
+    @Test
+    public void saveItemNormal() {
+        when(itemClient.saveItem(any(ItemDto.class), eq(userId)))
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.post().uri("/items")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(itemDto)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void saveItemEmptyName() {
+        itemDto.setName("");
+
+        webTestClient.post().uri("/items")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(itemDto)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).saveItem(any(), anyLong());
+    }
+
+    @Test
+    public void updateItemWithoutNameIsAllowed() {
+        itemDto.setName(null);
+        when(itemClient.updateItem(any(ItemDto.class), eq(userId)))
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.patch().uri("/items/5")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(itemDto)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(itemClient).updateItem(eq(ItemDto.builder()
+                .id(5L)
+                .description("description")
+                .available(true)
+                .build()), eq(userId));
+    }
+
+    @Test
+    public void getItemServerErrorIsPassedThrough() {
+        byte[] body = "{\"error\":\"Предмет не найден\"}".getBytes(StandardCharsets.UTF_8);
+        when(itemClient.getItemById(userId, 7L)).thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body)));
+
+        webTestClient.get().uri("/items/7")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(byte[].class).isEqualTo(body);
+    }
+
+    @Test
+    public void getAvailabilityPassesInterval() {
+        LocalDateTime from = LocalDateTime.of(2050, 3, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2050, 3, 2, 0, 0);
+        when(itemClient.getAvailability(userId, 7L, from, to)).thenReturn(Mono.just(ResponseEntity.ok(List.of())));
+
+        webTestClient.get().uri("/items/7/availability?from=2050-03-01T00:00:00&to=2050-03-02T00:00:00")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void getItemWrongItemId() {
+        webTestClient.get().uri("/items/-1")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).getItemById(anyLong(), anyLong());
+    }
+
+    @Test
+    public void searchItemWrongSize() {
+        webTestClient.get().uri("/items/search?text=drill&size=-1")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(itemClient, never()).searchItem(anyLong(), anyString(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    public void importItemsPassesBodyWithContentType() {
+        String csv = "name,description,available\nДрель,Дрель,true\n";
+        when(itemClient.importItems(eq(userId), eq(MediaType.parseMediaType("text/csv;charset=UTF-8")), any()))
+                .thenAnswer(invocation -> DataBufferUtils.join(invocation.<Flux<DataBuffer>>getArgument(2))
+                        .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                        .map(received -> ResponseEntity.ok().body((Object) received)));
+
+        webTestClient.post().uri("/items/bulk")
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                .bodyValue(csv)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo(csv);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.ratelimit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+import ru.practicum.shareit.util.ErrorHandler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {BookingController.class, ItemController.class, ErrorHandler.class,
+        RateLimitConfiguration.class})
+@TestPropertySource(properties = {
+        "shareit.rate-limit.limits.bookings.per-second=0.1",
+        "shareit.rate-limit.limits.bookings.burst=2",
+        "shareit.rate-limit.limits.items.per-second=0.1",
+        "shareit.rate-limit.limits.items.burst=1"
+})
+class RateLimitInterceptorTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookingClient bookingClient;
+    @MockBean
+    private ItemClient itemClient;
+
+    @SneakyThrows
+    @Test
+    void requestsOverLimitAreRejectedBeforeClientCallTest() {
+        when(bookingClient.getBooking(anyLong(), anyLong())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+        mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 2)).andExpect(status().isOk());
+
+        verify(bookingClient, times(3)).getBooking(anyLong(), anyLong());
+    }
+
+    @SneakyThrows
+    @Test
+    void requestsWithoutUserAreLimitedByClientAddressTest() {
+        when(itemClient.getAvailability(any(), anyLong(), any(), any())).thenReturn(ResponseEntity.ok().build());
+
+        mockMvc.perform(availability("10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(availability("10.0.0.1")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(availability("10.0.0.2")).andExpect(status().isOk());
+
+        verify(itemClient, times(2)).getAvailability(any(), anyLong(), any(), any());
+    }
+
+    private static MockHttpServletRequestBuilder availability(String address) {
+        return get("/items/1/availability")
+                .param("from", "2050-03-01T00:00:00")
+                .param("to", "2050-03-02T00:00:00")
+                .with(request -> {
+                    request.setRemoteAddr(address);
+                    return request;
+                });
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.validation.BindValidationException;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.NestedExceptionUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitPropertiesTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(PropertiesConfiguration.class);
+
+    @Test
+    void positiveLimitsAreBoundTest() {
+        contextRunner.withPropertyValues(
+                        "shareit.rate-limit.limits.items.per-second=0.5",
+                        "shareit.rate-limit.limits.items.burst=2")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertEquals(2, context.getBean(RateLimitProperties.class).getLimits().get("items").getBurst());
+                });
+    }
+
+    @Test
+    void zeroRateFailsStartupTest() {
+        contextRunner.withPropertyValues(
+                        "shareit.rate-limit.limits.items.per-second=0",
+                        "shareit.rate-limit.limits.items.burst=2")
+                .run(context -> assertInstanceOf(BindValidationException.class,
+                        NestedExceptionUtils.getRootCause(context.getStartupFailure())));
+    }
+
+    @Test
+    void zeroBurstFailsStartupTest() {
+        contextRunner.withPropertyValues(
+                        "shareit.rate-limit.limits.items.per-second=1",
+                        "shareit.rate-limit.limits.items.burst=0")
+                .run(context -> assertInstanceOf(BindValidationException.class,
+                        NestedExceptionUtils.getRootCause(context.getStartupFailure())));
+    }
+
+    @EnableConfigurationProperties(RateLimitProperties.class)
+    static class PropertiesConfiguration {
+    }
+}
@@ -0,0 +1,42 @@
+package ru.practicum.shareit.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstIsAllowedThenRejectedTest() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(SECOND / 10, bucket.tryAcquire(0));
+    }
+
+    @Test
+    void tokensAreRefilledAtRateTest() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertTrue(bucket.tryAcquire(SECOND / 20) > 0);
+        assertEquals(0, bucket.tryAcquire(SECOND / 10));
+    }
+
+    @Test
+    void idleBucketDoesNotExceedBurstTest() {
+        TokenBucket bucket = new TokenBucket(10, 2, 0);
+        long later = 60 * SECOND;
+
+        assertEquals(0, bucket.tryAcquire(later));
+        assertEquals(0, bucket.tryAcquire(later));
+        assertTrue(bucket.tryAcquire(later) > 0);
+        assertEquals(2 * SECOND / 10, bucket.refillNanos());
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.util.ErrorHandler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@ContextConfiguration(classes = {ReactiveRequestController.class, ErrorHandler.class})
+public class ReactiveRequestControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveItemRequestClient requestClient;
+
+    @Test
+    public void addItemRequestNormal() {
+        when(requestClient.addItemRequest(eq(1L), any(RequestDto.class)))
+                .thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.post().uri("/requests")
+                .header("X-Sharer-User-Id", "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"description\":\"Нужна дрель\"}")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void getRequestsWrongSize() {
+        webTestClient.get().uri("/requests?size=0")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(requestClient, never()).requestsGet(anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void getAllRequestsPassesCursor() {
+        when(requestClient.getRequestsAll(1L, 0, 20, "Mw")).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.get().uri("/requests/all?after=Mw")
+                .header("X-Sharer-User-Id", "1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(requestClient).getRequestsAll(1L, 0, 20, "Mw");
+    }
+
+    @Test
+    public void getRequestByIdWrongUserId() {
+        webTestClient.get().uri("/requests/1")
+                .header("X-Sharer-User-Id", "0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(requestClient, never()).getRequestById(anyLong(), anyLong());
+    }
+}
@@ -144,7 +144,7 @@ public class RequestControllerTest {
     @SneakyThrows
     @Test
     public void getRequests_Normal() {
-        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt())).thenReturn(
+        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt(), any())).thenReturn(
                 new ResponseEntity<>(List.of(requestDto), HttpStatus.OK));
 
         mockMvc.perform(get("/requests/all")
@@ -157,7 +157,7 @@ public class RequestControllerTest {
     @SneakyThrows
     @Test
     public void getRequests_EmptyFrom() {
-        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt())).thenReturn(
+        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt(), any())).thenReturn(
                 new ResponseEntity<>(List.of(requestDto), HttpStatus.OK));
 
         mockMvc.perform(get("/requests/all")
@@ -170,7 +170,7 @@ public class RequestControllerTest {
     @SneakyThrows
     @Test
     public void getRequests_EmptySize() {
-        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt())).thenReturn(
+        when(requestClient.getRequestsAll(anyLong(), anyInt(), anyInt(), any())).thenReturn(
                 new ResponseEntity<>(List.of(requestDto), HttpStatus.OK));
 
         mockMvc.perform(get("/requests/all")
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.ErrorHandler;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest
+@ContextConfiguration(classes = {ReactiveUserController.class, ErrorHandler.class})
+public class ReactiveUserControllerTest {
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveUserClient userClient;
+
+    @Test
+    public void saveUserNormal() {
+        UserDto userDto = UserDto.builder()
+                .name("Ivan")
+                .email("ivan@mail.ru")
+                .build();
+        when(userClient.addUser(userDto)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.CREATED)));
+
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+
+    @Test
+    public void saveUserWrongEmail() {
+        webTestClient.post().uri("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(UserDto.builder()
+                        .name("Ivan")
+                        .email("ivan.mail.ru")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userClient, never()).addUser(any());
+    }
+
+    @Test
+    public void updateUserWithoutNameIsAllowed() {
+        UserDto userDto = UserDto.builder()
+                .email("ivan@mail.ru")
+                .build();
+        when(userClient.updateUser(1L, userDto)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.patch().uri("/users/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userDto)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    public void getUserWrongId() {
+        webTestClient.get().uri("/users/0")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userClient, never()).getUser(anyLong());
+    }
+
+    @Test
+    public void deleteUserNormal() {
+        when(userClient.deleteUser(1L)).thenReturn(Mono.just(new ResponseEntity<>(HttpStatus.OK)));
+
+        webTestClient.delete().uri("/users/1")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(userClient).deleteUser(1L);
+    }
+}
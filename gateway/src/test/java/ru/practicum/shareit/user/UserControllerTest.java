@@ -164,7 +164,7 @@ public class UserControllerTest {
     @SneakyThrows
     @Test
     public void getAllUser_Normal() {
-        when(userClient.getUser(anyLong())).thenReturn(
+        when(userClient.getAllUsers()).thenReturn(
                 new ResponseEntity<>(List.of(new UserDto()), HttpStatus.OK));
 
         mockMvc.perform(get("/users")
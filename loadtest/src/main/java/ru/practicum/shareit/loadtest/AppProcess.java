@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Приложение, запущенное из собранного jar в отдельной JVM; вывод пишется в файл.
+ * <p>
+ * Сервер и шлюз лежат в одних и тех же пакетах, поэтому поднять их в одной JVM нельзя.
+ */
+@Slf4j
+public class AppProcess implements AutoCloseable {
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(3);
+
+    private final String name;
+    private final int port;
+    private final Process process;
+
+    private AppProcess(String name, int port, Process process) {
+        this.name = name;
+        this.port = port;
+        this.process = process;
+    }
+
+    public static AppProcess start(String name, Path java, Path jar, int port, List<String> jvmArgs,
+                                   List<String> appArgs, Path logs) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Не найден jar " + jar + ", соберите проект: mvn install -DskipTests");
+        }
+        List<String> command = new ArrayList<>();
+        command.add(java.toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.addAll(appArgs);
+        Files.createDirectories(logs);
+        Path output = logs.resolve("loadtest-" + name + ".log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(output.toFile())
+                .start();
+        log.info("Запущен {} на порту {}, журнал: {}", name, port, output);
+        return new AppProcess(name, port, process);
+    }
+
+    /**
+     * Ждёт, пока actuator не ответит UP.
+     */
+    public void awaitReady() throws InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+        Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " завершился при запуске с кодом " + process.exitValue());
+            }
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    log.info("{} готов", name);
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("{} ещё не отвечает: {}", name, e.getMessage());
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+        throw new IllegalStateException(name + " не запустился за " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+        log.info("{} остановлен", name);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Заполняет базу через шлюз: пользователи, предметы, запросы и бронирования.
+ * <p>
+ * Бронирования одного предмета не пересекаются по времени, половина из них подтверждается владельцем.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DataSeeder {
+    private final ShareItApi api;
+    private final LoadTestSettings settings;
+
+    public SeedData seed() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        try {
+            long[] userIds = run(executor, settings.getUsers(), i -> api.exchange(api.post("/users", null,
+                    Map.of("name", "Пользователь " + i, "email", "user" + i + "@loadtest.ru"))).get("id").asLong());
+            log.info("Создано пользователей: {}", userIds.length);
+
+            long[] itemOwners = new long[settings.getItems()];
+            for (int i = 0; i < itemOwners.length; i++) {
+                itemOwners[i] = userIds[i % userIds.length];
+            }
+            long[] itemIds = run(executor, itemOwners.length, i -> {
+                String word = SeedData.WORDS[i % SeedData.WORDS.length];
+                return api.exchange(api.post("/items", itemOwners[i], Map.of("name", word + " " + i,
+                        "description", "Хорошая " + word + " для аренды", "available", true))).get("id").asLong();
+            });
+            log.info("Создано предметов: {}", itemIds.length);
+
+            run(executor, settings.getRequests(), i -> api.exchange(api.post("/requests", userIds[i % userIds.length],
+                    Map.of("description", "Нужна " + SeedData.WORDS[i % SeedData.WORDS.length]))).get("id").asLong());
+            log.info("Создано запросов: {}", settings.getRequests());
+
+            LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+            run(executor, settings.getBookings(), i -> {
+                int item = i % itemIds.length;
+                int shift = 1 + i / itemIds.length;
+                while (userIds[(item + shift) % userIds.length] == itemOwners[item]) {
+                    shift++;
+                }
+                long booker = userIds[(item + shift) % userIds.length];
+                LocalDateTime start = base.plusDays(2L * (i / itemIds.length));
+                long bookingId = api.exchange(api.post("/bookings", booker, Map.of("itemId", itemIds[item],
+                        "start", start.toString(), "end", start.plusDays(1).toString()))).get("id").asLong();
+                if (i % 2 == 0) {
+                    api.exchange(api.patch("/bookings/" + bookingId + "?approved=true", itemOwners[item]));
+                }
+                return bookingId;
+            });
+            log.info("Создано бронирований: {}", settings.getBookings());
+            return new SeedData(userIds, itemIds, itemOwners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long[] run(ExecutorService executor, int count, IndexedCall call) throws InterruptedException {
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            futures.add(executor.submit((Callable<Long>) () -> call.apply(index)));
+        }
+        long[] ids = new long[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                ids[i] = futures.get(i).get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Не удалось подготовить данные", e.getCause());
+        }
+        return ids;
+    }
+
+    @FunctionalInterface
+    private interface IndexedCall {
+        long apply(int index) throws Exception;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.loadtest;
+
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Публичные эндпоинты шлюза, из которых составляется смесь нагрузки.
+ */
+public enum Endpoint {
+    ITEM("item", "GET /items/{id}") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/items/" + data.getItemIds()[data.randomItem()], data.randomUser());
+        }
+    },
+    ITEMS("items", "GET /items") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/items?from=0&size=20", data.randomUser());
+        }
+    },
+    SEARCH("search", "GET /items/search") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/items/search?from=0&size=20&text="
+                    + URLEncoder.encode(data.randomWord(), StandardCharsets.UTF_8), data.randomUser());
+        }
+    },
+    BOOKINGS("bookings", "GET /bookings") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/bookings?state=ALL&from=0&size=20", data.randomUser());
+        }
+    },
+    OWNER_BOOKINGS("owner-bookings", "GET /bookings/owner") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/bookings/owner?state=ALL&from=0&size=20", data.randomUser());
+        }
+    },
+    REQUESTS("requests", "GET /requests/all") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/requests/all?from=0&size=20", data.randomUser());
+        }
+    },
+    USER("user", "GET /users/{id}") {
+        @Override
+        HttpRequest request(ShareItApi api, SeedData data) {
+            return api.get("/users/" + data.randomUser(), null);
+        }
+    };
+
+    private final String key;
+    private final String title;
+
+    Endpoint(String key, String title) {
+        this.key = key;
+        this.title = title;
+    }
+
+    abstract HttpRequest request(ShareItApi api, SeedData data);
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public static Endpoint byName(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестный эндпоинт: " + key));
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Сводка прогона: req/s и перцентили задержки по каждому эндпоинту и в целом.
+ */
+public class LatencyReport {
+    private static final String TOTAL = "Итого";
+
+    private final Map<Endpoint, LoadDriver.EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final Duration duration;
+
+    LatencyReport(Duration duration) {
+        this.duration = duration;
+    }
+
+    void add(Endpoint endpoint, LoadDriver.EndpointStats other) {
+        stats.computeIfAbsent(endpoint, key -> new LoadDriver.EndpointStats(new Histogram(3))).add(other);
+    }
+
+    public void print(PrintStream out) {
+        String format = "%-22s %9s %7s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "Эндпоинт", "Запросов", "Ошибок", "req/s", "p50, мс", "p99, мс", "p999, мс", "max, мс");
+        for (Map<String, Object> row : rows()) {
+            out.printf(format, row.get("endpoint"), row.get("requests"), row.get("errors"),
+                    String.format("%.1f", (double) row.get("rps")), millis(row, "p50"), millis(row, "p99"),
+                    millis(row, "p999"), millis(row, "max"));
+        }
+    }
+
+    public void write(Path file, LoadTestSettings settings) throws IOException {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("threads", settings.getThreads());
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("users", settings.getUsers());
+        result.put("items", settings.getItems());
+        result.put("bookings", settings.getBookings());
+        result.put("latencyUnit", "microseconds");
+        result.put("endpoints", rows());
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), result);
+    }
+
+    private List<Map<String, Object>> rows() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Map.Entry<Endpoint, LoadDriver.EndpointStats> entry : stats.entrySet()) {
+            rows.add(row(entry.getKey().getTitle(), entry.getValue().histogram, entry.getValue().errors));
+            total.add(entry.getValue().histogram);
+            totalErrors += entry.getValue().errors;
+        }
+        rows.add(row(TOTAL, total, totalErrors));
+        return rows;
+    }
+
+    private Map<String, Object> row(String endpoint, Histogram histogram, long errors) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("endpoint", endpoint);
+        row.put("requests", histogram.getTotalCount());
+        row.put("errors", errors);
+        row.put("rps", histogram.getTotalCount() / (double) duration.toSeconds());
+        row.put("p50", histogram.getValueAtPercentile(50));
+        row.put("p99", histogram.getValueAtPercentile(99));
+        row.put("p999", histogram.getValueAtPercentile(99.9));
+        row.put("max", histogram.getMaxValue());
+        return row;
+    }
+
+    private static String millis(Map<String, Object> row, String key) {
+        return String.format("%.2f", (long) row.get(key) / 1000.0);
+    }
+}
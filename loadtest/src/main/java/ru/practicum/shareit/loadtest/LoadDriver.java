@@ -0,0 +1,115 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замкнутая модель нагрузки: каждый поток отправляет следующий запрос сразу после ответа на предыдущий.
+ * <p>
+ * Эндпоинт выбирается случайно по весам смеси. Задержки прогрева не учитываются,
+ * у каждого потока свои гистограммы, они объединяются после прогона.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class LoadDriver {
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final ShareItApi api;
+    private final SeedData data;
+    private final LoadTestSettings settings;
+
+    public LatencyReport run() throws InterruptedException {
+        Endpoint[] wheel = wheel(settings.getMix());
+        long measureFrom = System.nanoTime() + settings.getWarmup().toNanos();
+        long measureTo = measureFrom + settings.getDuration().toNanos();
+        log.info("Нагрузка: {} потоков, прогрев {} с, замер {} с, смесь {}", settings.getThreads(),
+                settings.getWarmup().toSeconds(), settings.getDuration().toSeconds(), settings.getMix());
+
+        ExecutorService executor = Executors.newFixedThreadPool(settings.getThreads());
+        List<Future<Map<Endpoint, EndpointStats>>> workers = new ArrayList<>();
+        for (int i = 0; i < settings.getThreads(); i++) {
+            workers.add(executor.submit(() -> drive(wheel, measureFrom, measureTo)));
+        }
+        LatencyReport report = new LatencyReport(settings.getDuration());
+        try {
+            for (Future<Map<Endpoint, EndpointStats>> worker : workers) {
+                worker.get().forEach(report::add);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Поток нагрузки завершился с ошибкой", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    private Map<Endpoint, EndpointStats> drive(Endpoint[] wheel, long measureFrom, long measureTo)
+            throws InterruptedException {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : settings.getMix().keySet()) {
+            stats.put(endpoint, new EndpointStats(new Histogram(MAX_LATENCY_MICROS, 3)));
+        }
+        long now = System.nanoTime();
+        while (now < measureTo) {
+            Endpoint endpoint = wheel[ThreadLocalRandom.current().nextInt(wheel.length)];
+            boolean success;
+            try {
+                HttpResponse<Void> response = api.send(endpoint.request(api, data));
+                success = response.statusCode() / 100 == 2;
+            } catch (IOException e) {
+                success = false;
+            }
+            long finished = System.nanoTime();
+            if (now >= measureFrom) {
+                stats.get(endpoint).record(TimeUnit.NANOSECONDS.toMicros(finished - now), success);
+            }
+            now = finished;
+        }
+        return stats;
+    }
+
+    private static Endpoint[] wheel(Map<Endpoint, Integer> mix) {
+        List<Endpoint> wheel = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                wheel.add(endpoint);
+            }
+        });
+        return wheel.toArray(new Endpoint[0]);
+    }
+
+    /**
+     * Задержки и число ошибок одного эндпоинта.
+     */
+    @RequiredArgsConstructor
+    static class EndpointStats {
+        final Histogram histogram;
+        long errors;
+
+        void record(long micros, boolean success) {
+            histogram.recordValue(Math.min(micros, MAX_LATENCY_MICROS));
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void add(EndpointStats other) {
+            histogram.add(other.histogram);
+            errors += other.errors;
+        }
+    }
+}
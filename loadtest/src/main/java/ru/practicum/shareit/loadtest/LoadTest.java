@@ -0,0 +1,49 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Сквозной нагрузочный прогон: сервер на H2 и шлюз перед ним, подготовка данных и смесь запросов через шлюз.
+ */
+@Slf4j
+public class LoadTest {
+    /**
+     * Отладочный журнал HTTP-клиента шлюза пишет каждый запрос целиком и под нагрузкой становится узким местом.
+     */
+    static final List<String> QUIET_GATEWAY_LOGGING = List.of(
+            "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+            "--logging.level.org.apache.http=INFO",
+            "--logging.level.httpclient.wire=INFO");
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.from(args);
+
+        List<String> serverArgs = new ArrayList<>(List.of("--spring.profiles.active=ci"));
+        serverArgs.addAll(settings.getServerArgs());
+        List<String> gatewayArgs = new ArrayList<>(QUIET_GATEWAY_LOGGING);
+        gatewayArgs.add("--shareit.server.url=http://localhost:" + settings.getServerPort());
+        gatewayArgs.addAll(settings.getGatewayArgs());
+
+        try (AppProcess server = AppProcess.start("server", settings.getJava(), settings.getServerJar(),
+                settings.getServerPort(), settings.getJvmArgs(), serverArgs, settings.getLogs());
+             AppProcess gateway = AppProcess.start("gateway", settings.getJava(), settings.getGatewayJar(),
+                     settings.getGatewayPort(), settings.getJvmArgs(), gatewayArgs, settings.getLogs())) {
+            server.awaitReady();
+            gateway.awaitReady();
+
+            ShareItApi api = new ShareItApi("http://localhost:" + settings.getGatewayPort());
+            try {
+                SeedData data = new DataSeeder(api, settings).seed();
+                LatencyReport report = new LoadDriver(api, data, settings).run();
+                report.print(System.out);
+                report.write(settings.getResult(), settings);
+                log.info("Результат сохранён в {}", settings.getResult());
+            } finally {
+                api.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Параметры прогона в виде {@code ключ=значение} из аргументов командной строки.
+ * Списки аргументов JVM и приложений перечисляются через запятую.
+ */
+@Getter
+public class LoadTestSettings {
+    static final String DEFAULT_MIX = "item=25,items=15,search=20,bookings=15,owner-bookings=10,requests=10,user=5";
+
+    private final Path java;
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final Path result;
+    private final Path logs;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final List<String> jvmArgs;
+    private final List<String> serverArgs;
+    private final List<String> gatewayArgs;
+    private final int users;
+    private final int items;
+    private final int bookings;
+    private final int requests;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Endpoint, Integer> mix;
+
+    private LoadTestSettings(Map<String, String> args) {
+        java = Path.of(args.getOrDefault("java",
+                Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        serverJar = Path.of(required(args, "server.jar"));
+        gatewayJar = Path.of(required(args, "gateway.jar"));
+        result = Path.of(args.getOrDefault("result", "loadtest-result.json"));
+        logs = Path.of(args.getOrDefault("logs", "."));
+        serverPort = Integer.parseInt(args.getOrDefault("server.port", "9090"));
+        gatewayPort = Integer.parseInt(args.getOrDefault("gateway.port", "8080"));
+        jvmArgs = split(args.getOrDefault("jvm.args", "-Xmx512m"));
+        serverArgs = split(args.getOrDefault("server.args", ""));
+        gatewayArgs = split(args.getOrDefault("gateway.args", ""));
+        users = Integer.parseInt(args.getOrDefault("users", "100"));
+        items = Integer.parseInt(args.getOrDefault("items", "1000"));
+        bookings = Integer.parseInt(args.getOrDefault("bookings", "5000"));
+        requests = Integer.parseInt(args.getOrDefault("requests", "200"));
+        threads = Integer.parseInt(args.getOrDefault("threads", "16"));
+        warmup = Duration.ofSeconds(Long.parseLong(args.getOrDefault("warmup", "15")));
+        duration = Duration.ofSeconds(Long.parseLong(args.getOrDefault("duration", "60")));
+        mix = parseMix(args.getOrDefault("mix", DEFAULT_MIX));
+        if (users < 2) {
+            throw new IllegalArgumentException("Для бронирований нужно не меньше двух пользователей");
+        }
+    }
+
+    public static LoadTestSettings from(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Ожидался аргумент вида ключ=значение: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestSettings(values);
+    }
+
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Неверный элемент смеси запросов: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.byName(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Смесь запросов пуста: " + mix);
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    private static String required(Map<String, String> args, String key) {
+        String value = args.get(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Не задан параметр " + key);
+        }
+        return value;
+    }
+
+    private static List<String> split(String value) {
+        return value.isBlank() ? List.of() : Arrays.asList(value.trim().split(","));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Идентификаторы, созданные при подготовке данных; по ним генерируются запросы нагрузки.
+ */
+@Getter
+@AllArgsConstructor
+public class SeedData {
+    static final String[] WORDS = {"дрель", "пила", "лестница", "палатка", "велосипед", "перфоратор", "самокат"};
+
+    private final long[] userIds;
+    private final long[] itemIds;
+    private final long[] itemOwners;
+
+    public long randomUser() {
+        return userIds[ThreadLocalRandom.current().nextInt(userIds.length)];
+    }
+
+    public int randomItem() {
+        return ThreadLocalRandom.current().nextInt(itemIds.length);
+    }
+
+    public String randomWord() {
+        return WORDS[ThreadLocalRandom.current().nextInt(WORDS.length)];
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Тонкий HTTP-клиент к шлюзу: те же заголовки и пути, что у внешних клиентов.
+ */
+public class ShareItApi {
+    static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 10;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public ShareItApi(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+    }
+
+    public HttpRequest get(String path, Long userId) {
+        return builder(path, userId).GET().build();
+    }
+
+    public HttpRequest post(String path, Long userId, Map<String, Object> body) {
+        return builder(path, userId)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(write(body)))
+                .build();
+    }
+
+    public HttpRequest patch(String path, Long userId) {
+        return builder(path, userId).method("PATCH", HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    public HttpResponse<Void> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Выполняет запрос и возвращает тело ответа; ответ не 2xx считается ошибкой подготовки данных.
+     * <p>
+     * На 429 и 503 шлюз отказывает, не обращаясь к серверу, поэтому запрос повторяется после {@code Retry-After}.
+     */
+    public JsonNode exchange(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        for (int attempt = 1; attempt < MAX_ATTEMPTS && isRejected(response); attempt++) {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(response.headers().firstValueAsLong("Retry-After").orElse(1)));
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(String.format("%s %s вернул %d: %s", request.method(), request.uri(),
+                    response.statusCode(), response.body()));
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private static boolean isRejected(HttpResponse<?> response) {
+        return response.statusCode() == 429 || response.statusCode() == 503;
+    }
+
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private HttpRequest.Builder builder(String path, Long userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Accept", "application/json");
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return builder;
+    }
+
+    private String write(Map<String, Object> body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Не удалось сериализовать тело запроса", e);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Сильный ETag по содержимому ответа для чтения предметов, пользователей и запросов.
+ * <p>
+ * На {@code If-None-Match} с тем же значением отвечает 304 без тела. Ответ по-прежнему собирается
+ * из базы: в него входят бронирования и комментарии, поэтому версии одной сущности для ETag недостаточно.
+ */
+@Configuration
+public class EtagConfiguration {
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new ReadEtagHeaderFilter());
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+        return registration;
+    }
+
+    /**
+     * Фильтр только для {@code GET} и {@code HEAD}: ответы на запись, в том числе на импорт {@code /items/bulk},
+     * не буферизуются в памяти ради хеша, который им не нужен.
+     */
+    static class ReadEtagHeaderFilter extends ShallowEtagHeaderFilter {
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod());
+        }
+    }
+}
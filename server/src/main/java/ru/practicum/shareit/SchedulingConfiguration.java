@@ -0,0 +1,16 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи сервера: просрочка ожидающих бронирований и очистка календаря занятости
+ * от закончившихся бронирований.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnExpression("${shareit.bookings.expiry.enabled:false} "
+        + "or ${shareit.bookings.availability-index.enabled:false}")
+public class SchedulingConfiguration {
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Интервал, на который бронирование занимает предмет; читается из БД без загрузки сущностей.
+ */
+@Getter
+@AllArgsConstructor
+public class BookedInterval {
+    private final Long bookingId;
+    private final Long itemId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Свободные интервалы предметов по занятости из ожидающих и подтверждённых бронирований.
+ * <p>
+ * Календарь строится из БД при старте приложения и дальше обновляется сервисом бронирований
+ * после фиксации транзакции. Включается свойством {@code shareit.bookings.availability-index.enabled};
+ * пока он выключен или не построен, интервалы считаются по бронированиям предмета из БД.
+ * <p>
+ * В календаре лежат только бронирования, не закончившиеся к моменту {@code horizon}: закончившиеся
+ * раз в {@code shareit.bookings.availability-index.prune-interval} удаляются, а промежутки, начинающиеся
+ * раньше этого момента, считаются по БД.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BookingAvailabilityIndex {
+    private final BookingRepository bookingRepository;
+
+    @Value("${shareit.bookings.availability-index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${shareit.bookings.availability-index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BookingCalendar calendar = new BookingCalendar();
+    private List<Consumer<BookingCalendar>> pendingUpdates;
+    private volatile boolean ready;
+    private volatile LocalDateTime horizon = LocalDateTime.MIN;
+
+    public boolean isEnabled() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        BookingCalendar rebuilt = new BookingCalendar();
+        LocalDateTime rebuiltHorizon = LocalDateTime.now();
+        long lastId = 0;
+        List<BookedInterval> batch;
+        do {
+            batch = bookingRepository.findBookedIntervalsAfter(Status.OCCUPYING, rebuiltHorizon, lastId,
+                    PageRequest.of(0, rebuildBatchSize));
+            for (BookedInterval interval : batch) {
+                rebuilt.put(interval);
+                lastId = interval.getBookingId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            pendingUpdates.forEach(update -> update.accept(rebuilt));
+            pendingUpdates = null;
+            calendar = rebuilt;
+            horizon = rebuiltHorizon;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Календарь занятости предметов построен, бронирований: {}", rebuilt.size());
+    }
+
+    /**
+     * Удаляет из календаря закончившиеся бронирования и сдвигает {@code horizon}.
+     */
+    @Scheduled(fixedDelayString = "${shareit.bookings.availability-index.prune-interval:PT1H}")
+    public void pruneEnded() {
+        if (!isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int removed;
+        lock.writeLock().lock();
+        try {
+            removed = calendar.pruneEndedBefore(now);
+            horizon = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Из календаря занятости удалены закончившиеся бронирования: {}", removed);
+    }
+
+    /**
+     * Учитывает новое бронирование или смену его статуса.
+     */
+    public void update(Booking booking) {
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        if (Status.OCCUPYING.contains(booking.getStatus())) {
+            BookedInterval interval = new BookedInterval(bookingId, itemId, booking.getStart(), booking.getEnd());
+            afterCommit(() -> apply(target -> target.put(interval)));
+        } else {
+            afterCommit(() -> apply(target -> target.remove(itemId, bookingId)));
+        }
+    }
+
+    /**
+     * Освобождает интервалы бронирований, статус которых сменён массовым обновлением.
+     */
+    public void remove(List<BookedInterval> intervals) {
+        afterCommit(() -> apply(target -> intervals.forEach(interval ->
+                target.remove(interval.getItemId(), interval.getBookingId()))));
+    }
+
+    public void removeItem(long itemId) {
+        afterCommit(() -> apply(target -> target.removeItem(itemId)));
+    }
+
+    public List<FreeIntervalDto> freeIntervals(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!isEnabled() || from.isBefore(horizon)) {
+            BookingCalendar itemCalendar = new BookingCalendar();
+            bookingRepository.findBookedIntervals(itemId, Status.OCCUPYING, from, to).forEach(itemCalendar::put);
+            return itemCalendar.free(itemId, from, to);
+        }
+        lock.readLock().lock();
+        try {
+            return calendar.free(itemId, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(Consumer<BookingCalendar> update) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update.accept(calendar);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,197 @@
+package ru.practicum.shareit.booking.availability;
+
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Занятые интервалы предметов: для каждого предмета параллельные массивы номеров бронирований,
+ * начал и окончаний в микросекундах, отсортированные по началу. Начало каждого бронирования хранится
+ * и отдельно, чтобы найти его запись двоичным поиском.
+ * <p>
+ * Старые данные могут содержать пересекающиеся бронирования, поэтому поиск начинается не с первого
+ * начала после {@code from}, а отступив на длину самого длинного интервала предмета.
+ * Класс не потокобезопасен, доступ синхронизирует {@link BookingAvailabilityIndex}.
+ */
+class BookingCalendar {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private final Map<Long, Timeline> timelines = new HashMap<>();
+    private final Map<Long, Long> startsByBookingId = new HashMap<>();
+    private int size;
+
+    void put(BookedInterval interval) {
+        Timeline timeline = timelines.computeIfAbsent(interval.getItemId(), id -> new Timeline());
+        Long existingStart = startsByBookingId.get(interval.getBookingId());
+        if (existingStart != null) {
+            int existing = timeline.indexOf(interval.getBookingId(), existingStart);
+            if (existing >= 0) {
+                timeline.removeAt(existing);
+                size--;
+            }
+        }
+        long start = toMicros(interval.getStart());
+        timeline.insert(interval.getBookingId(), start, toMicros(interval.getEnd()));
+        startsByBookingId.put(interval.getBookingId(), start);
+        size++;
+    }
+
+    void remove(long itemId, long bookingId) {
+        Timeline timeline = timelines.get(itemId);
+        Long start = startsByBookingId.get(bookingId);
+        if (timeline == null || start == null) {
+            return;
+        }
+        int index = timeline.indexOf(bookingId, start);
+        if (index < 0) {
+            return;
+        }
+        timeline.removeAt(index);
+        startsByBookingId.remove(bookingId);
+        size--;
+        if (timeline.size == 0) {
+            timelines.remove(itemId);
+        }
+    }
+
+    void removeItem(long itemId) {
+        Timeline timeline = timelines.remove(itemId);
+        if (timeline != null) {
+            for (int i = 0; i < timeline.size; i++) {
+                startsByBookingId.remove(timeline.bookingIds[i]);
+            }
+            size -= timeline.size;
+        }
+    }
+
+    /**
+     * Удаляет интервалы, закончившиеся не позже {@code before}: на свободные промежутки с этого момента
+     * они уже не влияют. Возвращает число удалённых интервалов.
+     */
+    int pruneEndedBefore(LocalDateTime before) {
+        long cutoff = toMicros(before);
+        int removed = 0;
+        Iterator<Timeline> iterator = timelines.values().iterator();
+        while (iterator.hasNext()) {
+            Timeline timeline = iterator.next();
+            int kept = 0;
+            for (int i = 0; i < timeline.size; i++) {
+                if (timeline.ends[i] > cutoff) {
+                    timeline.bookingIds[kept] = timeline.bookingIds[i];
+                    timeline.starts[kept] = timeline.starts[i];
+                    timeline.ends[kept] = timeline.ends[i];
+                    kept++;
+                } else {
+                    startsByBookingId.remove(timeline.bookingIds[i]);
+                }
+            }
+            removed += timeline.size - kept;
+            timeline.size = kept;
+            if (kept == 0) {
+                iterator.remove();
+            }
+        }
+        size -= removed;
+        return removed;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Свободные промежутки предмета внутри {@code [from, to)} в порядке времени.
+     */
+    List<FreeIntervalDto> free(long itemId, LocalDateTime from, LocalDateTime to) {
+        long lower = toMicros(from);
+        long upper = toMicros(to);
+        List<FreeIntervalDto> result = new ArrayList<>();
+        long cursor = lower;
+        Timeline timeline = timelines.get(itemId);
+        if (timeline != null) {
+            for (int i = timeline.firstStartAfter(lower - timeline.maxLength);
+                 i < timeline.size && timeline.starts[i] < upper; i++) {
+                if (timeline.starts[i] > cursor) {
+                    result.add(new FreeIntervalDto(fromMicros(cursor), fromMicros(timeline.starts[i])));
+                }
+                cursor = Math.max(cursor, timeline.ends[i]);
+            }
+        }
+        if (cursor < upper) {
+            result.add(new FreeIntervalDto(fromMicros(cursor), fromMicros(upper)));
+        }
+        return result;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static final class Timeline {
+        private long[] bookingIds = new long[INITIAL_CAPACITY];
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private long[] ends = new long[INITIAL_CAPACITY];
+        private int size;
+        private long maxLength;
+
+        int indexOf(long bookingId, long start) {
+            for (int i = firstStartAfter(start - 1); i < size && starts[i] == start; i++) {
+                if (bookingIds[i] == bookingId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int firstStartAfter(long micros) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (starts[middle] > micros) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return low;
+        }
+
+        void insert(long bookingId, long start, long end) {
+            if (size == starts.length) {
+                bookingIds = Arrays.copyOf(bookingIds, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            int index = firstStartAfter(start);
+            System.arraycopy(bookingIds, index, bookingIds, index + 1, size - index);
+            System.arraycopy(starts, index, starts, index + 1, size - index);
+            System.arraycopy(ends, index, ends, index + 1, size - index);
+            bookingIds[index] = bookingId;
+            starts[index] = start;
+            ends[index] = end;
+            size++;
+            maxLength = Math.max(maxLength, end - start);
+        }
+
+        void removeAt(int index) {
+            System.arraycopy(bookingIds, index + 1, bookingIds, index, size - index - 1);
+            System.arraycopy(starts, index + 1, starts, index, size - index - 1);
+            System.arraycopy(ends, index + 1, ends, index, size - index - 1);
+            size--;
+        }
+    }
+}
@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -48,24 +51,32 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingsForBooker(@RequestHeader(name = USER_ID_HEADER) long userId,
-                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                    @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                    @RequestParam(required = false, defaultValue = "10") @Positive int size
+    public ResponseEntity<List<BookingDto>> getAllBookingsForBooker(@RequestHeader(name = USER_ID_HEADER) long userId,
+                                                                    @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                    @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                                    @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                                    @RequestParam(required = false) String after
     ) {
         log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
                 "для  пользователя");
-        return bookingService.getBooking(userId, stateParam, from, size);
+        List<BookingDto> bookings = after == null
+                ? bookingService.getBooking(userId, stateParam, from, size)
+                : bookingService.getBookingAfter(userId, stateParam, Cursor.decode(after), size);
+        return CursorPage.of(bookings, size, booking -> new Cursor(booking.getStart(), booking.getId()));
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllBookingsForOwner(@RequestHeader(name = USER_ID_HEADER) long userId,
-                                                   @RequestParam(name = "state", defaultValue = "all") String stateParam,
-                                                   @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                   @RequestParam(required = false, defaultValue = "10") @Positive int size
+    public ResponseEntity<List<BookingDto>> getAllBookingsForOwner(@RequestHeader(name = USER_ID_HEADER) long userId,
+                                                                   @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                                   @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                                   @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                                   @RequestParam(required = false) String after
     ) {
         log.info("Получен GET-запрос просмотра всех забронированных вещей и статусов их бронирования " +
                 "для владельца");
-        return bookingService.getOwnerBooking(userId, stateParam, from, size);
+        List<BookingDto> bookings = after == null
+                ? bookingService.getOwnerBooking(userId, stateParam, from, size)
+                : bookingService.getOwnerBookingAfter(userId, stateParam, Cursor.decode(after), size);
+        return CursorPage.of(bookings, size, booking -> new Cursor(booking.getStart(), booking.getId()));
     }
-}
\ No newline at end of file
+}
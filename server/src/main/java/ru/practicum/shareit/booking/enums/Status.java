@@ -1,8 +1,21 @@
 package ru.practicum.shareit.booking.enums;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum Status {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
+    CANCELED,
+    /**
+     * Владелец не ответил на бронирование до его начала.
+     */
+    EXPIRED;
+
+    /**
+     * Статусы, в которых бронирование занимает предмет на свой интервал.
+     */
+    public static final Set<Status> OCCUPYING = Collections.unmodifiableSet(EnumSet.of(WAITING, APPROVED));
 }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Переводит в {@link Status#EXPIRED} ожидающие бронирования, начало которых уже прошло.
+ * <p>
+ * Бронирования обрабатываются пачками по {@code shareit.bookings.expiry.batch-size}, каждая пачка
+ * блокируется и обновляется в отдельной короткой транзакции. Включается свойством
+ * {@code shareit.bookings.expiry.enabled}, период задаёт {@code shareit.bookings.expiry.interval}.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.bookings.expiry.enabled", havingValue = "true")
+public class BookingExpiryJob {
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter expired;
+
+    @Value("${shareit.bookings.expiry.batch-size:500}")
+    private int batchSize;
+
+    public BookingExpiryJob(BookingRepository bookingRepository, BookingAvailabilityIndex availabilityIndex,
+                            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.bookingRepository = bookingRepository;
+        this.availabilityIndex = availabilityIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expired = Counter.builder("shareit.bookings.expired")
+                .description("Ожидающие бронирования, переведённые в EXPIRED")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.bookings.expiry.interval:PT1M}",
+            initialDelayString = "${shareit.bookings.expiry.interval:PT1M}")
+    public void expireWaitingBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> expireBatch(now));
+            expired.increment(batch);
+            total += batch;
+        } while (batch == batchSize);
+        if (total > 0) {
+            log.info("Просрочено ожидающих бронирований: {}", total);
+        }
+    }
+
+    private int expireBatch(LocalDateTime now) {
+        List<BookedInterval> batch = bookingRepository.findWithLockByStatusAndStartBefore(Status.WAITING, now,
+                PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatus(batch.stream()
+                .map(BookedInterval::getBookingId)
+                .collect(Collectors.toList()), Status.EXPIRED);
+        availabilityIndex.remove(batch);
+        return batch.size();
+    }
+}
@@ -1,17 +1,40 @@
 package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.availability.BookedInterval;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Условие состояния для keyset-запросов; {@code CAST} задаёт тип пустого параметра, без него
+     * PostgreSQL не может определить тип {@code null}.
+     */
+    String STATE_CONDITION = "AND (CAST(:startAfter AS timestamp) IS NULL OR b.start > :startAfter) " +
+            "AND (CAST(:startBefore AS timestamp) IS NULL OR b.start < :startBefore) " +
+            "AND (CAST(:endAfter AS timestamp) IS NULL OR b.end > :endAfter) " +
+            "AND (CAST(:endBefore AS timestamp) IS NULL OR b.end < :endBefore) " +
+            "AND (:status IS NULL OR b.status = :status) ";
+
+    /**
+     * Бронирование с блокировкой строки до конца транзакции: одновременные подтверждения и отклонения
+     * одного бронирования выполняются по очереди и видят статус, записанный предыдущим.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Booking> findWithLockById(Long id);
+
     Booking findFirstBookingByItemIdAndEndIsBeforeAndStatusNotLikeOrderByEndDesc(Long itemId,
                                                                                  LocalDateTime dateTime,
                                                                                  Status status);
@@ -24,24 +47,114 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                                                      LocalDateTime dateTime,
                                                                                      Status status);
 
-    List<Booking> findAllByBookerIdOrderByStartDesc(long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndIsBefore(long userId, LocalDateTime timeNow, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartIsAfter(long userId, LocalDateTime timeNow, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(long userId, LocalDateTime dateTime, LocalDateTime date, Sort sort);
-
-    List<Booking> findAllByBookerIdAndStatus(long userId, Status status);
-
-    List<Booking> findAllByItem_OwnerIdOrderByStartDesc(long userId, Pageable pageable);
-
-    List<Booking> findAllByItem_OwnerIdAndStatus(long userId, Status status);
-
-    List<Booking> findAllByItem_OwnerIdAndStartIsBeforeAndEndIsAfter(long userId, LocalDateTime dateTime, LocalDateTime date, Sort sort);
-
-    List<Booking> findAllByItem_OwnerIdAndStartIsAfter(long userId, LocalDateTime timeNow, Sort sort);
-
-    List<Booking> findAllByItem_OwnerIdAndEndIsBefore(long userId, LocalDateTime timeNow, Sort sort);
-
+    /**
+     * Последнее и следующее бронирование для каждого предмета из списка за один запрос:
+     * строки с началом до и после {@code now} ранжируются отдельно, из каждой группы берётся первая.
+     */
+    @Query(value = "SELECT r.id, r.start_date, r.end_date, r.status, r.item_id, r.booker_id FROM (" +
+            "SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date > :now " +
+            "ORDER BY CASE WHEN b.start_date > :now THEN b.start_date END ASC, b.start_date DESC) AS rn " +
+            "FROM bookings b " +
+            "WHERE b.item_id IN (:itemIds) AND b.status <> :status AND b.start_date <> :now) r " +
+            "WHERE r.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextBookingsByItemIds(Collection<Long> itemIds, LocalDateTime now, String status);
+
+    /**
+     * Есть ли у пользователя начавшееся и не отклонённое бронирование предмета; использует индекс
+     * {@code bookings_booker_item_start_idx}.
+     */
+    boolean existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(long bookerId, long itemId,
+                                                                       LocalDateTime dateTime, Status status);
+
+    /**
+     * Пересекается ли интервал {@code [start, end)} с бронированиями предмета в указанных статусах;
+     * использует индекс {@code bookings_item_end_idx}, поэтому прошедшие бронирования не просматриваются.
+     */
+    boolean existsByItemIdAndStatusInAndEndGreaterThanAndStartLessThan(long itemId, Collection<Status> statuses,
+                                                                       LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Интервалы бронирований в указанных статусах, заканчивающиеся позже {@code endAfter}, после {@code afterId}
+     * в порядке идентификаторов.
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status IN (:statuses) AND b.end > :endAfter AND b.id > :afterId ORDER BY b.id")
+    List<BookedInterval> findBookedIntervalsAfter(Collection<Status> statuses, LocalDateTime endAfter, long afterId,
+                                                  Pageable pageable);
+
+    /**
+     * Интервалы бронирований пользователя в указанных статусах; использует индекс {@code bookings_booker_start_idx}.
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.booker.id = :bookerId AND b.status IN (:statuses)")
+    List<BookedInterval> findBookedIntervalsByBookerId(long bookerId, Collection<Status> statuses);
+
+    /**
+     * Интервалы бронирований предмета, пересекающиеся с {@code [from, to)}; использует индекс
+     * {@code bookings_item_end_idx}.
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.item.id = :itemId AND b.status IN (:statuses) " +
+            "AND b.end > :from AND b.start < :to")
+    List<BookedInterval> findBookedIntervals(long itemId, Collection<Status> statuses,
+                                             LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Интервалы бронирований в статусе {@code status} с началом до {@code before}, строки блокируются
+     * до конца транзакции; использует индекс {@code bookings_status_start_idx}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new ru.practicum.shareit.booking.availability.BookedInterval(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b WHERE b.status = :status AND b.start < :before ORDER BY b.start, b.id")
+    List<BookedInterval> findWithLockByStatusAndStartBefore(Status status, LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status WHERE b.id IN (:ids)")
+    int updateStatus(Collection<Long> ids, Status status);
+
+    List<Booking> findAllByBookerId(long userId, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndEndIsBefore(long userId, LocalDateTime timeNow, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartIsAfter(long userId, LocalDateTime timeNow, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(long userId, LocalDateTime dateTime, LocalDateTime date, Pageable pageable);
+
+    List<Booking> findAllByBookerIdAndStatus(long userId, Status status, Pageable pageable);
+
+    List<Booking> findAllByItem_OwnerId(long userId, Pageable pageable);
+
+    List<Booking> findAllByItem_OwnerIdAndStatus(long userId, Status status, Pageable pageable);
+
+    List<Booking> findAllByItem_OwnerIdAndStartIsBeforeAndEndIsAfter(long userId, LocalDateTime dateTime, LocalDateTime date, Pageable pageable);
+
+    List<Booking> findAllByItem_OwnerIdAndStartIsAfter(long userId, LocalDateTime timeNow, Pageable pageable);
+
+    List<Booking> findAllByItem_OwnerIdAndEndIsBefore(long userId, LocalDateTime timeNow, Pageable pageable);
+
+    /**
+     * Страница бронирований пользователя после курсора {@code (afterStart, afterId)} в порядке
+     * {@code start DESC, id DESC}. Состояние задаётся необязательными строгими границами начала и окончания
+     * и статусом, {@code null} снимает условие.
+     */
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :userId " +
+            STATE_CONDITION +
+            "AND (b.start < :afterStart OR (b.start = :afterStart AND b.id < :afterId)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findBookerBookingsAfter(long userId, LocalDateTime startAfter, LocalDateTime startBefore,
+                                          LocalDateTime endAfter, LocalDateTime endBefore, Status status,
+                                          LocalDateTime afterStart, long afterId, Pageable pageable);
+
+    /**
+     * То же, что {@link #findBookerBookingsAfter}, но по бронированиям предметов владельца.
+     */
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.ownerId = :userId " +
+            STATE_CONDITION +
+            "AND (b.start < :afterStart OR (b.start = :afterStart AND b.id < :afterId)) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findOwnerBookingsAfter(long userId, LocalDateTime startAfter, LocalDateTime startBefore,
+                                         LocalDateTime endAfter, LocalDateTime endBefore, Status status,
+                                         LocalDateTime afterStart, long afterId, Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.Cursor;
 
 import java.util.List;
 
@@ -13,5 +14,9 @@ public interface BookingService {
 
     List<BookingDto> getBooking(long userId, String stateParam, int from, int size);
 
+    List<BookingDto> getBookingAfter(long userId, String stateParam, Cursor after, int size);
+
     List<BookingDto> getOwnerBooking(long userId, String stateParam, int from, int size);
+
+    List<BookingDto> getOwnerBookingAfter(long userId, String stateParam, Cursor after, int size);
 }
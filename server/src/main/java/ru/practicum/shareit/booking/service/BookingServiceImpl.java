@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
@@ -16,6 +17,8 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -34,10 +37,12 @@ import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDto;
 @Transactional(readOnly = true)
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "start", "id");
 
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
 
 
     @Override
@@ -46,7 +51,7 @@ public class BookingServiceImpl implements BookingService {
 
         User user = userRepository.findById(userId).orElseThrow(() ->
                 new UserNotFoundException("Пользователь не найден " + userId));
-        Item item = itemRepository.findById(bookingDto.getItemId()).orElseThrow(() ->
+        Item item = itemRepository.findWithLockById(bookingDto.getItemId()).orElseThrow(() ->
                 new ItemNotFoundException("Предмет не найден."));
 
         Booking booking = toBooking(user, item, bookingDto);
@@ -66,13 +71,21 @@ public class BookingServiceImpl implements BookingService {
             throw new ItemUnavailableException("Предмет недоступен для аренды в данный момент: "
                     + booking.getItem());
         }
+
+        if (bookingRepository.existsByItemIdAndStatusInAndEndGreaterThanAndStartLessThan(item.getId(),
+                Status.OCCUPYING, booking.getStart(), booking.getEnd())) {
+            log.debug("Предмет {} уже забронирован с {} по {}", item.getId(), booking.getStart(), booking.getEnd());
+            throw new BookingOverlapException("Предмет уже забронирован на эти даты: " + item.getId());
+        }
         if (booking.getStatus() == null) {
             booking.setStatus(Status.WAITING);
         }
         log.info("Предмет {} ожидает подтверждения бронирования от владельца: {} ",
                 booking.getItem(), booking.getItem().getOwnerId());
 
-        return toBookingDto(bookingRepository.save(booking));
+        Booking saved = bookingRepository.save(booking);
+        availabilityIndex.update(saved);
+        return toBookingDto(saved);
     }
 
     @Override
@@ -84,7 +97,7 @@ public class BookingServiceImpl implements BookingService {
             throw new UserNotFoundException("Пользователь не найден " + userId);
         }
 
-        Booking booking = bookingRepository.findById(bookingId).orElseThrow(() ->
+        Booking booking = bookingRepository.findWithLockById(bookingId).orElseThrow(() ->
                 new BookingNotFoundException("Бронирование не найдено"));
 
 
@@ -93,12 +106,28 @@ public class BookingServiceImpl implements BookingService {
             throw new UnsupportedStateException("Unknown state: UNSUPPORTED_STATUS");
         }
 
+        if (booking.getStatus() == Status.EXPIRED) {
+            log.debug("Срок ответа на бронирование {} истёк", bookingId);
+            throw new InCorrectBookingException("Срок ответа на бронирование истёк: " + bookingId);
+        }
+
         if (booking.getItem().getOwnerId() != userId) {
             log.debug("Подтвердить/отклонить бронирование может только владелец предмета");
             throw new BookingNotFoundException("Подтвердить/отклонить бронирование может только " +
                     "владелец предмета - " + userId);
         }
 
+        // блокировка предмета упорядочивает подтверждение с новыми бронированиями того же предмета
+        Item item = itemRepository.findWithLockById(booking.getItem().getId()).orElseThrow(() ->
+                new ItemNotFoundException("Предмет не найден."));
+        // отклонённое или отменённое бронирование не занимает предмет, поэтому проверка не находит его само
+        if (approved && !Status.OCCUPYING.contains(booking.getStatus())
+                && bookingRepository.existsByItemIdAndStatusInAndEndGreaterThanAndStartLessThan(item.getId(),
+                Status.OCCUPYING, booking.getStart(), booking.getEnd())) {
+            log.debug("Предмет {} уже забронирован с {} по {}", item.getId(), booking.getStart(), booking.getEnd());
+            throw new BookingOverlapException("Предмет уже забронирован на эти даты: " + item.getId());
+        }
+
         if (approved) {
             booking.setStatus(Status.APPROVED);
         } else {
@@ -106,6 +135,7 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.save(booking);
+        availabilityIndex.update(booking);
         return toBookingDto(booking);
     }
 
@@ -141,8 +171,7 @@ public class BookingServiceImpl implements BookingService {
     public List<BookingDto> getBooking(long userId, String stateParam, int from, int size) {
         State state = State.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageable = OffsetPageRequest.of(from, size, PAGE_SORT);
 
         Collection<Booking> bookingList = new ArrayList<>();
         LocalDateTime timeNow = LocalDateTime.now();
@@ -153,35 +182,48 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case ALL:
-                bookingList = bookingRepository.findAllByBookerIdOrderByStartDesc(userId, pageable);
+                bookingList = bookingRepository.findAllByBookerId(userId, pageable);
                 break;
             case PAST:
-                bookingList = bookingRepository.findAllByBookerIdAndEndIsBefore(userId, timeNow, sort);
+                bookingList = bookingRepository.findAllByBookerIdAndEndIsBefore(userId, timeNow, pageable);
                 break;
             case FUTURE:
-                bookingList = bookingRepository.findAllByBookerIdAndStartIsAfter(userId, timeNow, sort);
+                bookingList = bookingRepository.findAllByBookerIdAndStartIsAfter(userId, timeNow, pageable);
                 break;
             case CURRENT:
-                bookingList = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(userId, timeNow, timeNow, sort);
+                bookingList = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(userId, timeNow,
+                        timeNow, pageable);
                 break;
             case WAITING:
-                bookingList = bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING);
+                bookingList = bookingRepository.findAllByBookerIdAndStatus(userId, Status.WAITING, pageable);
                 break;
             case REJECTED:
-                bookingList = bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED);
+                bookingList = bookingRepository.findAllByBookerIdAndStatus(userId, Status.REJECTED, pageable);
                 break;
         }
-        return bookingList.isEmpty() ? Collections.emptyList() : bookingList.stream()
-                .map(BookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return toBookingDtoList(bookingList);
+    }
+
+    @Override
+    public List<BookingDto> getBookingAfter(long userId, String stateParam, Cursor after, int size) {
+        State state = State.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (!userRepository.existsById(userId)) {
+            log.debug("Пользователь {} не найден ", userId);
+            throw new UserNotFoundException("Пользователь не найден " + userId);
+        }
+
+        StateFilter filter = StateFilter.of(state, LocalDateTime.now());
+        return toBookingDtoList(bookingRepository.findBookerBookingsAfter(userId,
+                filter.startAfter, filter.startBefore, filter.endAfter, filter.endBefore, filter.status,
+                after.requireStart(), after.getId(), PageRequest.ofSize(size)));
     }
 
     @Override
     public List<BookingDto> getOwnerBooking(long userId, String stateParam, int from, int size) {
         State state = State.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        Sort sort = Sort.by(Sort.Direction.DESC, "start");
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageable = OffsetPageRequest.of(from, size, PAGE_SORT);
 
         Collection<Booking> bookingList = new ArrayList<>();
         LocalDateTime timeNow = LocalDateTime.now();
@@ -192,26 +234,82 @@ public class BookingServiceImpl implements BookingService {
 
         switch (state) {
             case ALL:
-                bookingList = bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(userId, pageable);
+                bookingList = bookingRepository.findAllByItem_OwnerId(userId, pageable);
                 break;
             case PAST:
-                bookingList = bookingRepository.findAllByItem_OwnerIdAndEndIsBefore(userId, timeNow, sort);
+                bookingList = bookingRepository.findAllByItem_OwnerIdAndEndIsBefore(userId, timeNow, pageable);
                 break;
             case FUTURE:
-                bookingList = bookingRepository.findAllByItem_OwnerIdAndStartIsAfter(userId, timeNow, sort);
+                bookingList = bookingRepository.findAllByItem_OwnerIdAndStartIsAfter(userId, timeNow, pageable);
                 break;
             case CURRENT:
-                bookingList = bookingRepository.findAllByItem_OwnerIdAndStartIsBeforeAndEndIsAfter(userId, timeNow, timeNow, sort);
+                bookingList = bookingRepository.findAllByItem_OwnerIdAndStartIsBeforeAndEndIsAfter(userId, timeNow,
+                        timeNow, pageable);
                 break;
             case WAITING:
-                bookingList = bookingRepository.findAllByItem_OwnerIdAndStatus(userId, Status.WAITING);
+                bookingList = bookingRepository.findAllByItem_OwnerIdAndStatus(userId, Status.WAITING, pageable);
                 break;
             case REJECTED:
-                bookingList = bookingRepository.findAllByItem_OwnerIdAndStatus(userId, Status.REJECTED);
+                bookingList = bookingRepository.findAllByItem_OwnerIdAndStatus(userId, Status.REJECTED, pageable);
                 break;
         }
+        return toBookingDtoList(bookingList);
+    }
+
+    @Override
+    public List<BookingDto> getOwnerBookingAfter(long userId, String stateParam, Cursor after, int size) {
+        State state = State.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        if (!userRepository.existsById(userId)) {
+            log.debug("Пользователь {} не найден ", userId);
+            throw new UserNotFoundException("Пользователь не найден " + userId);
+        }
+
+        StateFilter filter = StateFilter.of(state, LocalDateTime.now());
+        return toBookingDtoList(bookingRepository.findOwnerBookingsAfter(userId,
+                filter.startAfter, filter.startBefore, filter.endAfter, filter.endBefore, filter.status,
+                after.requireStart(), after.getId(), PageRequest.ofSize(size)));
+    }
+
+    private static List<BookingDto> toBookingDtoList(Collection<Booking> bookingList) {
         return bookingList.isEmpty() ? Collections.emptyList() : bookingList.stream()
                 .map(BookingMapper::toBookingDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    /**
+     * Условия состояния для keyset-запросов: незаданная граница или статус не ограничивают выборку.
+     */
+    private static final class StateFilter {
+        private LocalDateTime startAfter;
+        private LocalDateTime startBefore;
+        private LocalDateTime endAfter;
+        private LocalDateTime endBefore;
+        private Status status;
+
+        private static StateFilter of(State state, LocalDateTime now) {
+            StateFilter filter = new StateFilter();
+            switch (state) {
+                case PAST:
+                    filter.endBefore = now;
+                    break;
+                case FUTURE:
+                    filter.startAfter = now;
+                    break;
+                case CURRENT:
+                    filter.startBefore = now;
+                    filter.endAfter = now;
+                    break;
+                case WAITING:
+                    filter.status = Status.WAITING;
+                    break;
+                case REJECTED:
+                    filter.status = Status.REJECTED;
+                    break;
+                default:
+                    break;
+            }
+            return filter;
+        }
+    }
+}
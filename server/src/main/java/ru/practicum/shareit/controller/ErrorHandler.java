@@ -17,6 +17,13 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage(), "Пользователь с таким email уже существует.");
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException e) {
+        log.error("Получен статус 409  {}", e.getMessage(), e);
+        return new ErrorResponse(e.getMessage(), "Предмет уже забронирован на эти даты");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleValidationException(final ValidationException e) {
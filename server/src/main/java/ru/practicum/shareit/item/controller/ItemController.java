@@ -2,16 +2,27 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
-import java.util.Collection;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,6 +36,7 @@ import java.util.List;
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
 
     @PostMapping
     public ItemDto saveItem(@RequestBody @Valid ItemDto itemDto,
@@ -33,6 +45,14 @@ public class ItemController {
         return itemService.saveItem(itemDto, userId);
     }
 
+    @PostMapping(path = "/bulk", consumes = {"application/x-ndjson", "text/csv"})
+    public List<ItemImportResult> importItems(@RequestHeader(name = USER_ID_HEADER) long userId,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Получен POST-запрос /items/bulk, формат {} ", request.getContentType());
+        return itemImportService.importItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getReader());
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto updateItem(@RequestHeader(name = USER_ID_HEADER) long userId,
                               @RequestBody ItemDto itemDto, @PathVariable Long itemId) {
@@ -49,21 +69,45 @@ public class ItemController {
     }
 
     @GetMapping
-    public List<ItemDto> getItemsByUser(@RequestHeader(name = USER_ID_HEADER) long userId,
-                                        @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                        @RequestParam(required = false, defaultValue = "10") @Positive int size
+    public ResponseEntity<List<ItemDto>> getItemsByUser(@RequestHeader(name = USER_ID_HEADER) long userId,
+                                                        @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                        @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                        @RequestParam(required = false) String after
     ) {
         log.info("Получен GET-запрос: список всех предметов одного пользователя {} ", userId);
-        return itemService.getItemsByUser(userId, from, size);
+        List<ItemDto> items = after == null
+                ? itemService.getItemsByUser(userId, from, size)
+                : itemService.getItemsByUserAfter(userId, Cursor.decode(after), size);
+        return CursorPage.of(items, size, item -> Cursor.ofId(item.getId()));
     }
 
     @GetMapping("/search")
-    public Collection<ItemDto> searchItem(@RequestParam String text,
-                                          @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                          @RequestParam(required = false, defaultValue = "10") @Positive int size
+    public ResponseEntity<List<ItemDto>> searchItem(@RequestParam String text,
+                                                    @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                    @RequestParam(required = false, defaultValue = "10") @Positive int size,
+                                                    @RequestParam(required = false) String after
     ) {
         log.info("Получен GET-запрос /text {} ", text);
-        return itemService.searchItem(text, from, size);
+        if (after != null) {
+            return CursorPage.of(itemService.searchItemAfter(text, Cursor.decode(after), size), size,
+                    item -> Cursor.ofId(item.getId()));
+        }
+        List<ItemDto> items = new ArrayList<>(itemService.searchItem(text, from, size));
+        if (!itemService.isSearchOrderedById()) {
+            // страница упорядочена по релевантности, курсор по id её не продолжит
+            return ResponseEntity.ok(items);
+        }
+        return CursorPage.of(items, size, item -> Cursor.ofId(item.getId()));
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public List<FreeIntervalDto> getAvailability(@PathVariable long itemId,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                 LocalDateTime to) {
+        log.info("Получен GET-запрос: свободные интервалы предмета {} с {} по {} ", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
     }
 
     @PostMapping("/{itemId}/comment")
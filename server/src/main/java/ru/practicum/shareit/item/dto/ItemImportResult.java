@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат импорта одной строки: id созданного предмета либо причина отказа.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+    private int row;
+    private Long id;
+    private String error;
+
+    public static ItemImportResult created(int row, long id) {
+        return new ItemImportResult(row, id, null);
+    }
+
+    public static ItemImportResult rejected(int row, String error) {
+        return new ItemImportResult(row, null, error);
+    }
+}
@@ -2,20 +2,61 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    /**
+     * Предмет с блокировкой строки до конца транзакции ({@code SELECT ... FOR UPDATE}): бронирования
+     * одного предмета сохраняются по очереди, разных предметов — параллельно.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Item> findWithLockById(Long id);
+
+    @Query("SELECT it.id FROM Item it WHERE it.ownerId = :ownerId")
+    List<Long> findIdsByOwnerId(long ownerId);
+
     List<Item> findAllByOwnerIdOrderByIdAsc(long ownerId, Pageable pageable);
 
+    List<Item> findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(long ownerId, long id, Pageable pageable);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
+
+    List<Item> findAllByRequestInOrderByIdAsc(Collection<Long> requestIds);
+
     @Query("SELECT it FROM Item it " +
             "WHERE (LOWER(it.name) LIKE LOWER(CONCAT('%', :text, '%') ) OR " +
             "LOWER(it.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
-            "AND it.available = true")
+            "AND it.available = true " +
+            "ORDER BY it.id")
     List<Item> searchItem(String text,Pageable pageable);
 
+    @Query("SELECT it FROM Item it " +
+            "WHERE (LOWER(it.name) LIKE LOWER(CONCAT('%', :text, '%') ) OR " +
+            "LOWER(it.description) LIKE LOWER(CONCAT('%', :text, '%'))) " +
+            "AND it.available = true AND it.id > :afterId " +
+            "ORDER BY it.id")
+    List<Item> searchItemAfter(String text, long afterId, Pageable pageable);
+
+    /**
+     * Поиск для PostgreSQL: условия совпадают с {@link #searchItem}, но обслуживаются
+     * триграммными GIN-индексами из миграции V3 для PostgreSQL, результат упорядочен по релевантности.
+     */
+    @Query(value = "SELECT * FROM items it " +
+            "WHERE it.is_available = true " +
+            "AND (LOWER(it.name) LIKE '%' || LOWER(:text) || '%' " +
+            "OR LOWER(it.description) LIKE '%' || LOWER(:text) || '%') " +
+            "ORDER BY GREATEST(word_similarity(LOWER(:text), LOWER(it.name)), " +
+            "word_similarity(LOWER(:text), LOWER(it.description))) DESC, it.id",
+            nativeQuery = true)
+    List<Item> searchItemByTrigram(String text, Pageable pageable);
+
 }
\ No newline at end of file
@@ -0,0 +1,203 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Инвертированный индекс по триграммам названия и описания предметов.
+ * <p>
+ * Каждый предмет получает номер документа; номера выдаются по возрастанию, поэтому списки вхождений
+ * в {@code int[]} всегда отсортированы. Обновление помечает старый документ удалённым и добавляет новый,
+ * удалённые документы вычищаются, когда их становится больше половины.
+ * Класс не потокобезопасен, доступ синхронизирует {@link ItemSearchIndex}.
+ */
+class InvertedIndex {
+    private static final int GRAM = 3;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] itemIds = new long[INITIAL_CAPACITY];
+    private Item[] items = new Item[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private int docCount;
+    private int removedCount;
+
+    private final Map<Long, Integer> docByItemId = new HashMap<>();
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    void put(Item item) {
+        remove(item.getId());
+        int doc = docCount++;
+        ensureCapacity(docCount);
+        itemIds[doc] = item.getId();
+        items[doc] = copyOf(item);
+        names[doc] = normalize(item.getName());
+        descriptions[doc] = normalize(item.getDescription());
+        docByItemId.put(item.getId(), doc);
+        addGrams(names[doc], doc);
+        addGrams(descriptions[doc], doc);
+    }
+
+    void remove(long itemId) {
+        Integer doc = docByItemId.remove(itemId);
+        if (doc == null) {
+            return;
+        }
+        items[doc] = null;
+        names[doc] = null;
+        descriptions[doc] = null;
+        removedCount++;
+        if (removedCount > INITIAL_CAPACITY && removedCount * 2 > docCount) {
+            compact();
+        }
+    }
+
+    int size() {
+        return docByItemId.size();
+    }
+
+    /**
+     * Предметы, у которых название или описание содержит {@code text} без учёта регистра,
+     * в порядке id. Первые {@code offset} совпадений пропускаются.
+     */
+    List<Item> search(String text, int offset, int limit) {
+        int[] docs = matchingDocs(text, offset, limit);
+        List<Item> result = new ArrayList<>(docs.length);
+        for (int doc : docs) {
+            result.add(copyOf(items[doc]));
+        }
+        return result;
+    }
+
+    long[] searchIds(String text) {
+        int[] docs = matchingDocs(text, 0, Integer.MAX_VALUE);
+        long[] result = new long[docs.length];
+        for (int i = 0; i < docs.length; i++) {
+            result[i] = itemIds[docs[i]];
+        }
+        return result;
+    }
+
+    private int[] matchingDocs(String text, int offset, int limit) {
+        String query = normalize(text);
+        Postings candidates = query.length() < GRAM ? null : shortestPostings(query);
+        if (limit <= 0 || query.length() >= GRAM && candidates == null) {
+            return new int[0];
+        }
+        long[] matched = new long[64];
+        int found = 0;
+        int candidateCount = candidates == null ? docCount : candidates.size;
+        for (int i = 0; i < candidateCount; i++) {
+            int doc = candidates == null ? i : candidates.docs[i];
+            if (!matches(doc, query)) {
+                continue;
+            }
+            if (found == matched.length) {
+                matched = Arrays.copyOf(matched, matched.length * 2);
+            }
+            matched[found++] = itemIds[doc];
+        }
+        // обновлённый предмет получает новый номер в конце, поэтому страница, как и в SQL, берётся по id
+        Arrays.sort(matched, 0, found);
+        int from = Math.min(offset, found);
+        int to = (int) Math.min((long) from + limit, found);
+        int[] result = new int[to - from];
+        for (int i = from; i < to; i++) {
+            result[i - from] = docByItemId.get(matched[i]);
+        }
+        return result;
+    }
+
+    private boolean matches(int doc, String query) {
+        return items[doc] != null && (names[doc].contains(query) || descriptions[doc].contains(query));
+    }
+
+    private Postings shortestPostings(String query) {
+        Postings shortest = null;
+        for (int i = 0; i + GRAM <= query.length(); i++) {
+            Postings current = postings.get(gram(query, i));
+            if (current == null) {
+                return null;
+            }
+            if (shortest == null || current.size < shortest.size) {
+                shortest = current;
+            }
+        }
+        return shortest;
+    }
+
+    private void addGrams(String text, int doc) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            postings.computeIfAbsent(gram(text, i), key -> new Postings()).add(doc);
+        }
+    }
+
+    private void compact() {
+        Item[] oldItems = items;
+        int oldDocCount = docCount;
+        itemIds = new long[Math.max(INITIAL_CAPACITY, size() * 2)];
+        items = new Item[itemIds.length];
+        names = new String[itemIds.length];
+        descriptions = new String[itemIds.length];
+        docCount = 0;
+        removedCount = 0;
+        docByItemId.clear();
+        postings.clear();
+        for (int doc = 0; doc < oldDocCount; doc++) {
+            if (oldItems[doc] != null) {
+                put(oldItems[doc]);
+            }
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= itemIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, itemIds.length * 2);
+        itemIds = Arrays.copyOf(itemIds, newLength);
+        items = Arrays.copyOf(items, newLength);
+        names = Arrays.copyOf(names, newLength);
+        descriptions = Arrays.copyOf(descriptions, newLength);
+    }
+
+    private static long gram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Item copyOf(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .ownerId(item.getOwnerId())
+                .available(item.getAvailable())
+                .request(item.getRequest())
+                .build();
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск доступных предметов в памяти без обращения к БД.
+ * <p>
+ * Индекс строится из БД при старте приложения и дальше обновляется сервисом предметов
+ * после фиксации транзакции. Включается свойством {@code shareit.search.index.enabled}.
+ * <p>
+ * {@code shareit.search.index.verify=true} — отладочный режим: каждый
+ * {@code shareit.search.index.verify-every}-й поиск дополнительно сверяется с SQL-запросом без пагинации.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+    private final ItemRepository itemRepository;
+
+    @Value("${shareit.search.index.enabled:false}")
+    private boolean enabled;
+
+    @Value("${shareit.search.index.verify:false}")
+    private boolean verify;
+
+    @Value("${shareit.search.index.verify-every:100}")
+    private int verifyEvery;
+
+    @Value("${shareit.search.index.rebuild-batch-size:1000}")
+    private int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private InvertedIndex index = new InvertedIndex();
+    private List<Consumer<InvertedIndex>> pendingUpdates;
+    private volatile boolean ready;
+    private final AtomicLong searches = new AtomicLong();
+
+    public boolean isEnabled() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        InvertedIndex rebuilt = new InvertedIndex();
+        long lastId = 0;
+        List<Item> batch;
+        do {
+            batch = itemRepository.findAllByAvailableTrueAndIdGreaterThanOrderByIdAsc(lastId,
+                    PageRequest.of(0, rebuildBatchSize));
+            for (Item item : batch) {
+                rebuilt.put(item);
+                lastId = item.getId();
+            }
+        } while (batch.size() == rebuildBatchSize);
+
+        lock.writeLock().lock();
+        try {
+            pendingUpdates.forEach(update -> update.accept(rebuilt));
+            pendingUpdates = null;
+            index = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Поисковый индекс предметов построен, предметов: {}", rebuilt.size());
+    }
+
+    public void index(Item item) {
+        afterCommit(() -> {
+            if (Boolean.TRUE.equals(item.getAvailable())) {
+                apply(target -> target.put(item));
+            } else {
+                apply(target -> target.remove(item.getId()));
+            }
+        });
+    }
+
+    public void remove(long itemId) {
+        afterCommit(() -> apply(target -> target.remove(itemId)));
+    }
+
+    public List<Item> search(String text, int from, int size) {
+        List<Item> items;
+        lock.readLock().lock();
+        try {
+            items = index.search(text, from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (verify && searches.incrementAndGet() % verifyEvery == 0) {
+            checkConsistency(text);
+        }
+        return items;
+    }
+
+    /**
+     * Сверяет множество найденных индексом предметов с результатом {@link ItemRepository#searchItem}.
+     */
+    public boolean checkConsistency(String text) {
+        Set<Long> indexed = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (long id : index.searchIds(text)) {
+                indexed.add(id);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        Set<Long> stored = itemRepository.searchItem(text, Pageable.unpaged()).stream()
+                .map(Item::getId)
+                .collect(Collectors.toSet());
+        if (indexed.equals(stored)) {
+            return true;
+        }
+        Set<Long> missing = new HashSet<>(stored);
+        missing.removeAll(indexed);
+        Set<Long> extra = new HashSet<>(indexed);
+        extra.removeAll(stored);
+        log.warn("Поисковый индекс расходится с БД по запросу '{}': нет в индексе {}, лишние в индексе {}",
+                text, missing, extra);
+        return false;
+    }
+
+    private void apply(Consumer<InvertedIndex> update) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            update.accept(index);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.service;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+
+import java.io.Reader;
+import java.util.List;
+
+public interface ItemImportService {
+    List<ItemImportResult> importItems(long userId, MediaType format, Reader reader);
+}
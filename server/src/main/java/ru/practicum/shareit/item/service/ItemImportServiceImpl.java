@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Импорт предметов пачками: каждая пачка из {@code shareit.items.import.batch-size} строк сохраняется
+ * в отдельной транзакции, после чего контекст персистентности очищается.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ItemImportServiceImpl implements ItemImportService {
+    /** Длины столбцов NAME и DESCRIPTION таблицы ITEMS. */
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final int MAX_DESCRIPTION_LENGTH = 512;
+
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @Value("${shareit.items.import.batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public List<ItemImportResult> importItems(long userId, MediaType format, Reader reader) {
+        if (!userRepository.existsById(userId)) {
+            log.debug("Пользователь {} не найден", userId);
+            throw new UserNotFoundException("Пользователь не найден " + userId);
+        }
+        ItemRowReader rows = ItemRowReader.of(format, reader, objectMapper);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<ItemImportResult> results = new ArrayList<>();
+        List<Item> batch = new ArrayList<>(batchSize);
+        List<Integer> batchRows = new ArrayList<>(batchSize);
+        int created = 0;
+
+        for (ItemRowReader.Row row = rows.next(); row != null; row = rows.next()) {
+            String error = row.error != null ? row.error : validate(row.item);
+            if (error != null) {
+                results.add(ItemImportResult.rejected(row.number, error));
+                continue;
+            }
+            batch.add(toItem(row.item, userId));
+            batchRows.add(row.number);
+            if (batch.size() == batchSize) {
+                created += saveBatch(transactionTemplate, batch, batchRows, results);
+            }
+        }
+        created += saveBatch(transactionTemplate, batch, batchRows, results);
+        results.sort((first, second) -> Integer.compare(first.getRow(), second.getRow()));
+        log.info("Импортировано предметов {} из {} строк, владелец: id = {}", created, results.size(), userId);
+        return results;
+    }
+
+    private int saveBatch(TransactionTemplate transactionTemplate, List<Item> batch, List<Integer> batchRows,
+                          List<ItemImportResult> results) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int saved = 0;
+        try {
+            save(transactionTemplate, batch);
+            for (int i = 0; i < batch.size(); i++) {
+                results.add(ItemImportResult.created(batchRows.get(i), batch.get(i).getId()));
+            }
+            saved = batch.size();
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Не удалось сохранить пачку из {} предметов, строки сохраняются по одной: {}",
+                    batch.size(), e.getMessage());
+            for (int i = 0; i < batch.size(); i++) {
+                saved += saveRow(transactionTemplate, batch.get(i), batchRows.get(i), results);
+            }
+        }
+        batch.clear();
+        batchRows.clear();
+        return saved;
+    }
+
+    /**
+     * Повторное сохранение строки из неудавшейся пачки в собственной транзакции: отклоняется только она сама.
+     */
+    private int saveRow(TransactionTemplate transactionTemplate, Item item, int row, List<ItemImportResult> results) {
+        // идентификатор, выданный в откаченной транзакции, не должен превращать вставку в слияние
+        item.setId(null);
+        try {
+            save(transactionTemplate, List.of(item));
+            results.add(ItemImportResult.created(row, item.getId()));
+            return 1;
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Не удалось сохранить строку {}: {}", row, e.getMessage());
+            results.add(ItemImportResult.rejected(row, "Ошибка сохранения: " + e.getMostSpecificCause().getMessage()));
+            return 0;
+        }
+    }
+
+    private void save(TransactionTemplate transactionTemplate, List<Item> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // сброс через репозиторий: ошибки вставки приходят переведёнными в DataAccessException
+            itemRepository.saveAllAndFlush(items);
+            entityManager.clear();
+            items.forEach(itemSearchIndex::index);
+        });
+    }
+
+    private String validate(ItemDto itemDto) {
+        List<String> errors = validator.validate(itemDto).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toList());
+        if (itemDto.getName() != null && itemDto.getName().length() > MAX_NAME_LENGTH) {
+            errors.add("name длиннее " + MAX_NAME_LENGTH + " символов");
+        }
+        if (itemDto.getDescription() != null && itemDto.getDescription().length() > MAX_DESCRIPTION_LENGTH) {
+            errors.add("description длиннее " + MAX_DESCRIPTION_LENGTH + " символов");
+        }
+        if (errors.isEmpty()) {
+            return null;
+        }
+        return errors.stream()
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static Item toItem(ItemDto itemDto, long userId) {
+        return Item.builder()
+                .name(itemDto.getName())
+                .description(itemDto.getDescription())
+                .available(itemDto.getAvailable())
+                .ownerId(userId)
+                .request(itemDto.getRequestId())
+                .build();
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Построчное чтение предметов из NDJSON (один объект {@link ItemDto} в строке) или CSV
+ * с заголовком {@code name,description,available,requestId}. Строки нумеруются с 1 без учёта заголовка
+ * и пустых строк NDJSON; тело запроса не загружается в память целиком.
+ */
+abstract class ItemRowReader {
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    static ItemRowReader of(MediaType format, Reader reader, ObjectMapper objectMapper) {
+        if (NDJSON.includes(format)) {
+            return new NdjsonReader(new BufferedReader(reader), objectMapper);
+        }
+        if (CSV.includes(format)) {
+            return new CsvReader(reader);
+        }
+        throw new ValidationException("Неподдерживаемый формат импорта: " + format);
+    }
+
+    /**
+     * Следующая строка или {@code null}, если данные закончились.
+     */
+    abstract Row next();
+
+    static final class Row {
+        final int number;
+        final ItemDto item;
+        final String error;
+
+        private Row(int number, ItemDto item, String error) {
+            this.number = number;
+            this.item = item;
+            this.error = error;
+        }
+    }
+
+    private static final class NdjsonReader extends ItemRowReader {
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private int number;
+
+        private NdjsonReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() {
+            String line;
+            try {
+                do {
+                    line = reader.readLine();
+                } while (line != null && line.isBlank());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (line == null) {
+                return null;
+            }
+            number++;
+            try {
+                return new Row(number, objectMapper.readValue(line, ItemDto.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(number, null, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static final class CsvReader extends ItemRowReader {
+        private final MappingIterator<String[]> rows;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private int number;
+
+        private CsvReader(Reader reader) {
+            try {
+                rows = new CsvMapper()
+                        .enable(CsvParser.Feature.WRAP_AS_ARRAY)
+                        .enable(CsvParser.Feature.SKIP_EMPTY_LINES)
+                        .readerFor(String[].class)
+                        .readValues(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            String[] header = nextRecord();
+            if (header == null) {
+                return;
+            }
+            for (int i = 0; i < header.length; i++) {
+                columns.put(header[i].trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        @Override
+        Row next() {
+            String[] record = nextRecord();
+            if (record == null) {
+                return null;
+            }
+            number++;
+            try {
+                return new Row(number, ItemDto.builder()
+                        .name(value(record, "name"))
+                        .description(value(record, "description"))
+                        .available(toBoolean(value(record, "available")))
+                        .requestId(toLong(value(record, "requestid")))
+                        .build(), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, e.getMessage());
+            }
+        }
+
+        private String[] nextRecord() {
+            try {
+                return rows.hasNextValue() ? rows.nextValue() : null;
+            } catch (IOException | RuntimeJsonMappingException e) {
+                throw new ValidationException("Некорректный CSV после строки " + number + ": " + e.getMessage());
+            }
+        }
+
+        private String value(String[] record, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= record.length || record[index].isEmpty()) {
+                return null;
+            }
+            return record[index];
+        }
+
+        private static Boolean toBoolean(String value) {
+            if (value == null) {
+                return null;
+            }
+            if ("true".equalsIgnoreCase(value) || "false".equalsIgnoreCase(value)) {
+                return Boolean.valueOf(value);
+            }
+            throw new IllegalArgumentException("available должен быть true или false: " + value);
+        }
+
+        private static Long toLong(String value) {
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("requestId должен быть числом: " + value);
+            }
+        }
+    }
+}
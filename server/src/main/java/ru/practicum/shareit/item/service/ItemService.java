@@ -1,8 +1,11 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -15,8 +18,20 @@ public interface ItemService {
 
     List<ItemDto> getItemsByUser(long userId, int from, int size);
 
+    List<ItemDto> getItemsByUserAfter(long userId, Cursor after, int size);
+
     Collection<ItemDto> searchItem(String text, int from, int size);
 
+    List<ItemDto> searchItemAfter(String text, Cursor after, int size);
+
+    /**
+     * Упорядочена ли страница {@link #searchItem} по id, как страницы {@link #searchItemAfter}.
+     * Только тогда курсор из последнего найденного предмета продолжает выдачу без пропусков и повторов.
+     */
+    boolean isSearchOrderedById();
+
+    List<FreeIntervalDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to);
+
     CommentDto postComment(long userId, long itemId, CommentDto commentDto);
 
     void deleteItemById(long itemId);
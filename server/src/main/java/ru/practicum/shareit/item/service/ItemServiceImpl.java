@@ -3,9 +3,12 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -17,10 +20,14 @@ import ru.practicum.shareit.exceptions.InCorrectBookingException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
 import ru.practicum.shareit.exceptions.ItemUnavailableException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -28,7 +35,9 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -46,6 +55,11 @@ public class ItemServiceImpl implements ItemService {
     private final UserRepository userRepository;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingAvailabilityIndex availabilityIndex;
+
+    @Value("${shareit.search.trigram-enabled:false}")
+    private boolean trigramSearchEnabled;
 
     @Override
     @Transactional
@@ -58,6 +72,7 @@ public class ItemServiceImpl implements ItemService {
         item.setOwnerId(userId);
         item.setRequest(itemDto.getRequestId());
         itemRepository.save(item);
+        itemSearchIndex.index(item);
         return toItemDto(item);
     }
 
@@ -73,6 +88,7 @@ public class ItemServiceImpl implements ItemService {
         log.info("Выполнено обновление информации о предмете = {}, " +
                 "принадлежащем пользователю, id = {}", updatedItem.getId(), userId);
         itemRepository.save(savedItem);
+        itemSearchIndex.index(savedItem);
         return toItemDto(savedItem);
     }
 
@@ -118,17 +134,32 @@ public class ItemServiceImpl implements ItemService {
             log.debug("Пользователь {} не найден", userId);
             throw new UserNotFoundException("Пользователь не найден " + userId);
         }
-        Pageable pageable = PageRequest.of(from / size, size);
+        Pageable pageable = OffsetPageRequest.of(from, size);
+
+        return toItemsWithBookings(userId, itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageable));
+    }
 
-        if (itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageable) == null) {
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> getItemsByUserAfter(long userId, Cursor after, int size) {
+        if (!userRepository.existsById(userId)) {
+            log.debug("Пользователь {} не найден", userId);
+            throw new UserNotFoundException("Пользователь не найден " + userId);
+        }
+
+        return toItemsWithBookings(userId, itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(userId,
+                after.getId(), PageRequest.ofSize(size)));
+    }
+
+    private List<ItemDto> toItemsWithBookings(long userId, List<Item> items) {
+        if (items == null) {
             log.info("У пользователя {} нет предметов для аренды ", userId);
             throw new ItemNotFoundException("У пользователя нет предметов для аренды " + userId);
         }
-        List<ItemDto> itemsList = itemRepository.findAllByOwnerIdOrderByIdAsc(userId, pageable)
-                .stream()
+        List<ItemDto> itemsList = items.stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
-        itemsList.forEach(this::addLastAndNextDateTimeForBookingToItem);
+        addLastAndNextDateTimeForBookingToItems(itemsList);
         log.info("Список всех предметов, принадлежащих пользователю, id = {}", userId);
         return itemsList;
     }
@@ -140,12 +171,49 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
         log.info("Выполнен поиск среди предметов по : {}.", text);
-        return itemRepository.searchItem(text, PageRequest.of(from / size, size))
-                .stream()
+        if (itemSearchIndex.isEnabled()) {
+            return itemSearchIndex.search(text, from, size).stream()
+                    .map(ItemMapper::toItemDto)
+                    .collect(Collectors.toList());
+        }
+        Pageable pageable = OffsetPageRequest.of(from, size);
+        List<Item> items = trigramSearchEnabled
+                ? itemRepository.searchItemByTrigram(text, pageable)
+                : itemRepository.searchItem(text, pageable);
+        return items.stream()
+                .map(ItemMapper::toItemDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isSearchOrderedById() {
+        return itemSearchIndex.isEnabled() || !trigramSearchEnabled;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemDto> searchItemAfter(String text, Cursor after, int size) {
+        if (text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        log.info("Выполнен поиск среди предметов по : {} после предмета {}.", text, after.getId());
+        return itemRepository.searchItemAfter(text, after.getId(), PageRequest.ofSize(size)).stream()
                 .map(ItemMapper::toItemDto)
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeIntervalDto> getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало интервала должно быть раньше окончания");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new ItemNotFoundException("Предмет не найден " + itemId);
+        }
+        return availabilityIndex.freeIntervals(itemId, from, to);
+    }
+
     @Override
     @Transactional
     public CommentDto postComment(long userId, long itemId, CommentDto commentDto) {
@@ -158,12 +226,8 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new ItemNotFoundException("Предмет не найден " + itemId));
-        List<Booking> bookings = item.getBookings();
-
-        if (bookings
-                .stream().noneMatch(booking -> (booking.getBooker().getId() == userId)
-                        && !booking.getStart().isAfter(LocalDateTime.now())
-                        && !booking.getStatus().equals(Status.REJECTED))) {
+        if (!bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(userId, itemId,
+                LocalDateTime.now(), Status.REJECTED)) {
             throw new ItemUnavailableException(
                     "Комментировать может только арендатор предмета, с наступившим началом времени бронирования " +
                             "и статусом НЕ REJECTED");
@@ -186,9 +250,39 @@ public class ItemServiceImpl implements ItemService {
             throw new ItemNotFoundException("Item not found.");
         }
         itemRepository.deleteById(itemId);
+        itemSearchIndex.remove(itemId);
+        availabilityIndex.removeItem(itemId);
         log.info("Удален предмет {}", itemId);
     }
 
+    private void addLastAndNextDateTimeForBookingToItems(List<ItemDto> itemsList) {
+        if (itemsList.isEmpty()) {
+            return;
+        }
+        LocalDateTime timeNow = LocalDateTime.now();
+        List<Long> itemIds = itemsList.stream()
+                .map(ItemDto::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Booking> nextBookings = new HashMap<>();
+        Map<Long, Booking> lastBookings = new HashMap<>();
+        for (Booking booking : bookingRepository.findLastAndNextBookingsByItemIds(itemIds, timeNow,
+                Status.REJECTED.name())) {
+            if (booking.getStart().isAfter(timeNow)) {
+                nextBookings.put(booking.getItem().getId(), booking);
+            } else {
+                lastBookings.put(booking.getItem().getId(), booking);
+            }
+        }
+
+        for (ItemDto itemDto : itemsList) {
+            Booking next = nextBookings.get(itemDto.getId());
+            Booking last = lastBookings.get(itemDto.getId());
+            itemDto.setNextBooking(next != null ? toBookingDtoShort(next) : null);
+            itemDto.setLastBooking(last != null ? toBookingDtoShort(last) : null);
+        }
+    }
+
     private void addLastAndNextDateTimeForBookingToItem(ItemDto itemDto) {
         LocalDateTime timeNow = LocalDateTime.now();
 
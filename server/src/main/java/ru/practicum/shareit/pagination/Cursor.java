@@ -0,0 +1,58 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import ru.practicum.shareit.exceptions.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в упорядоченном списке: id последней выданной записи и, для списков бронирований,
+ * её дата начала. Клиенту передаётся в виде непрозрачной строки в параметре {@code after}.
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public class Cursor {
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime start;
+    private final long id;
+
+    public static Cursor ofId(long id) {
+        return new Cursor(null, id);
+    }
+
+    public static Cursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                return ofId(Long.parseLong(decoded));
+            }
+            return new Cursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + value);
+        }
+    }
+
+    /**
+     * Дата начала для курсоров по бронированиям, курсор без даты считается некорректным.
+     */
+    public LocalDateTime requireStart() {
+        if (start == null) {
+            throw new ValidationException("Некорректный курсор: " + encode());
+        }
+        return start;
+    }
+
+    public String encode() {
+        String value = start == null ? String.valueOf(id) : start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
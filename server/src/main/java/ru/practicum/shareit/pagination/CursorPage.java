@@ -0,0 +1,26 @@
+package ru.practicum.shareit.pagination;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Ответ со страницей списка: полная страница дополняется заголовком {@value #NEXT_CURSOR_HEADER},
+ * значение которого клиент передаёт в {@code after}, чтобы получить следующую.
+ */
+public final class CursorPage {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPage() {
+    }
+
+    public static <T> ResponseEntity<List<T>> of(List<T> page, int size, Function<T, Cursor> cursorOf) {
+        if (page.isEmpty() || page.size() < size) {
+            return ResponseEntity.ok(page);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, cursorOf.apply(page.get(page.size() - 1)).encode())
+                .body(page);
+    }
+}
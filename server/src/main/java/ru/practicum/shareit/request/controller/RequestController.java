@@ -2,8 +2,11 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -39,13 +42,17 @@ public class RequestController {
     }
 
     @GetMapping(path = "/all")
-    public List<RequestDtoWithRequest> getAllRequests(@RequestHeader(name = USER_ID_HEADER) Long userId,
-                                                      @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
-                                                      @RequestParam(required = false, defaultValue = "20") @Positive int size
+    public ResponseEntity<List<RequestDtoWithRequest>> getAllRequests(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                                                      @RequestParam(required = false, defaultValue = "0") @PositiveOrZero int from,
+                                                                      @RequestParam(required = false, defaultValue = "20") @Positive int size,
+                                                                      @RequestParam(required = false) String after
     ) {
         log.info("Получен GET-запрос на получение списка запросов, созданных другими пользователями. " +
                 "Результаты возвращаются постранично от {} в количестве {}.", from, size);
-        return itemRequestService.getAllItemRequest(userId, from, size);
+        List<RequestDtoWithRequest> requests = after == null
+                ? itemRequestService.getAllItemRequest(userId, from, size)
+                : itemRequestService.getAllItemRequestAfter(userId, Cursor.decode(after), size);
+        return CursorPage.of(requests, size, request -> Cursor.ofId(request.getId()));
     }
 
     @GetMapping("/{requestId}")
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.request.mappers;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.item.dto.ItemDtoReq;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
+
 @UtilityClass
 public class RequestMapper {
     public static Request toItemRequest(User user, RequestDto requestDto) {
@@ -24,12 +28,14 @@ public class RequestMapper {
                 .build();
     }
 
-    public static RequestDtoWithRequest toRequestDtoWithRequest(Request request) {
+    public static RequestDtoWithRequest toRequestDtoWithRequest(Request request, List<Item> items) {
+        List<ItemDtoReq> itemDtos = ItemMapper.toItemDtoList(items);
+        itemDtos.forEach(item -> item.setRequestId(request.getId()));
         return RequestDtoWithRequest.builder()
                 .id(request.getId())
                 .description(request.getDescription())
                 .created(request.getCreated())
-                .items(ItemMapper.toItemDtoList(request.getItems()))
+                .items(itemDtos)
                 .build();
     }
 
@@ -1,14 +1,20 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.request.model.Request;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<Request, Long> {
+    @EntityGraph(attributePaths = "requester")
     List<Request> findAllByRequesterIdOrderByIdAsc(Long userId);
 
-    List<Request> findAllByRequesterIdIsNot(Long userId, PageRequest pageRequest);
+    @EntityGraph(attributePaths = "requester")
+    List<Request> findAllByRequesterIdIsNot(Long userId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "requester")
+    List<Request> findAllByRequesterIdIsNotAndIdGreaterThanOrderByIdAsc(Long userId, long id, Pageable pageable);
 
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
 
@@ -12,5 +13,7 @@ public interface ItemRequestService {
 
     List<RequestDtoWithRequest> getAllItemRequest(long userId, int from, int size);
 
+    List<RequestDtoWithRequest> getAllItemRequestAfter(long userId, Cursor after, int size);
+
     RequestDtoWithRequest getRequestById(long userId, long requestId);
 }
@@ -2,21 +2,27 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
-import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
-import ru.practicum.shareit.request.mappers.RequestMapper;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.request.mappers.RequestMapper.*;
@@ -27,6 +33,7 @@ import static ru.practicum.shareit.request.mappers.RequestMapper.*;
 public class ItemRequestServiceIml implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
 
     @Override
     @Transactional
@@ -43,33 +50,42 @@ public class ItemRequestServiceIml implements ItemRequestService {
     public List<RequestDtoWithRequest> getItemRequest(long userId) {
         userRepository.findById(userId).orElseThrow(() ->
                 new UserNotFoundException("Пользователь не найден " + userId));
-        List<RequestDtoWithRequest> requestDtoWithRequests =
-                itemRequestRepository.findAllByRequesterIdOrderByIdAsc(userId).stream()
-                        .map(RequestMapper::toRequestDtoWithRequest)
-                        .collect(Collectors.toList());
-        for (RequestDtoWithRequest withRequest : requestDtoWithRequests) {
-            for (ItemDtoReq item : withRequest.getItems()) {
-                item.setRequestId(withRequest.getId());
-            }
-        }
-        return requestDtoWithRequests;
+        return toRequestDtoWithRequests(itemRequestRepository.findAllByRequesterIdOrderByIdAsc(userId));
     }
 
     @Override
     public List<RequestDtoWithRequest> getAllItemRequest(long userId, int from, int size) {
         userRepository.findById(userId).orElseThrow(() ->
                 new UserNotFoundException("Пользователь не найден " + userId));
-        List<Request> byOwnerId = itemRequestRepository.findAllByRequesterIdIsNot(userId, PageRequest.of(from / size, size));
-        List<RequestDtoWithRequest> requestDtoWithRequests =
-                byOwnerId.stream()
-                        .map(RequestMapper::toRequestDtoWithRequest)
-                        .collect(Collectors.toList());
-        for (RequestDtoWithRequest withRequest : requestDtoWithRequests) {
-            for (ItemDtoReq item : withRequest.getItems()) {
-                item.setRequestId(withRequest.getId());
-            }
+        List<Request> byOwnerId = itemRequestRepository.findAllByRequesterIdIsNot(userId,
+                OffsetPageRequest.of(from, size, Sort.by("id")));
+        return toRequestDtoWithRequests(byOwnerId);
+    }
+
+    @Override
+    public List<RequestDtoWithRequest> getAllItemRequestAfter(long userId, Cursor after, int size) {
+        userRepository.findById(userId).orElseThrow(() ->
+                new UserNotFoundException("Пользователь не найден " + userId));
+        List<Request> byOwnerId = itemRequestRepository.findAllByRequesterIdIsNotAndIdGreaterThanOrderByIdAsc(userId,
+                after.getId(), PageRequest.ofSize(size));
+        return toRequestDtoWithRequests(byOwnerId);
+    }
+
+    /**
+     * Предметы для всех запросов страницы загружаются одним запросом, а не по одному на каждый запрос.
+     */
+    private List<RequestDtoWithRequest> toRequestDtoWithRequests(List<Request> requests) {
+        if (requests.isEmpty()) {
+            return new ArrayList<>();
         }
-        return requestDtoWithRequests;
+        Map<Long, List<Item>> itemsByRequest = itemRepository.findAllByRequestInOrderByIdAsc(requests.stream()
+                        .map(Request::getId)
+                        .collect(Collectors.toList())).stream()
+                .collect(Collectors.groupingBy(Item::getRequest));
+        return requests.stream()
+                .map(request -> toRequestDtoWithRequest(request,
+                        itemsByRequest.getOrDefault(request.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -78,10 +94,6 @@ public class ItemRequestServiceIml implements ItemRequestService {
                 new UserNotFoundException("Пользователь не найден " + userId));
         Request request = itemRequestRepository.findById(requestId).orElseThrow(() ->
                 new RequestNotFoundException("Запрос предмета по id не найден"));
-        RequestDtoWithRequest requestDtoWithRequest = toRequestDtoWithRequest(request);
-        for (ItemDtoReq item : requestDtoWithRequest.getItems()) {
-            item.setRequestId(requestId);
-        }
-        return requestDtoWithRequest;
+        return toRequestDtoWithRequest(request, itemRepository.findAllByRequestInOrderByIdAsc(List.of(requestId)));
     }
 }
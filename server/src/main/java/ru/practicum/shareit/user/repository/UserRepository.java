@@ -7,4 +7,12 @@ import ru.practicum.shareit.user.model.User;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-}
\ No newline at end of file
+    /**
+     * Проверка через {@link #findById}, чтобы она попадала в кэш второго уровня, а не выполняла
+     * {@code count}-запрос при каждом вызове.
+     */
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+}
@@ -3,13 +3,25 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.Collection;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.user.mapper.UserMapper.*;
@@ -20,6 +32,11 @@ import static ru.practicum.shareit.user.mapper.UserMapper.*;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingRepository bookingRepository;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Override
     public Collection<UserDto> getAllUsers() {
@@ -35,12 +52,21 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(long id) {
         if (!userRepository.existsById(id)) {
             throw new UserNotFoundException("User not found.");
         }
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(id);
+        List<BookedInterval> bookings = bookingRepository.findBookedIntervalsByBookerId(id, Status.OCCUPYING);
         log.info("Удалён пользователь, id = {} ", id);
         userRepository.deleteById(id);
+        itemIds.forEach(itemSearchIndex::remove);
+        itemIds.forEach(availabilityIndex::removeItem);
+        availabilityIndex.remove(bookings);
+        // предметы пользователя удаляются каскадом в БД, мимо Hibernate, поэтому их нужно убрать из кэша;
+        // до фиксации параллельное чтение вернуло бы их туда снова
+        afterCommit(() -> itemIds.forEach(itemId -> entityManagerFactory.getCache().evict(Item.class, itemId)));
     }
 
     @Override
@@ -65,4 +91,17 @@ public class UserServiceImpl implements UserService {
         log.info("Получен пользователь, id = {} ", id);
         return toUserDto(user);
     }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
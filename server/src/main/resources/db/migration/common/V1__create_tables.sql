@@ -1,24 +1,17 @@
-DROP TABLE IF EXISTS USERS CASCADE;
-DROP TABLE IF EXISTS REQUESTS CASCADE;
-DROP TABLE IF EXISTS ITEMS CASCADE;
-DROP TABLE IF EXISTS BOOKINGS CASCADE;
-DROP TABLE IF EXISTS COMMENTS CASCADE;
-
-
-CREATE TABLE IF NOT EXISTS users (
+CREATE TABLE users (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     name VARCHAR(40),
     email VARCHAR(40) UNIQUE
     );
 
-CREATE TABLE IF NOT EXISTS requests (
+CREATE TABLE requests (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     description VARCHAR(255) NOT NULL,
     requester_id BIGINT REFERENCES users (id) ON DELETE CASCADE,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
     );
 
-CREATE TABLE IF NOT EXISTS ITEMS (
+CREATE TABLE ITEMS (
     ID BIGINT generated BY DEFAULT AS IDENTITY NOT NULL PRIMARY KEY,
     NAME VARCHAR(255) NOT NULL,
     DESCRIPTION VARCHAR(512) NOT NULL,
@@ -28,7 +21,7 @@ CREATE TABLE IF NOT EXISTS ITEMS (
     request_item_id BIGINT REFERENCES REQUESTS (ID) ON DELETE CASCADE
     );
 
-CREATE TABLE IF NOT EXISTS bookings (
+CREATE TABLE bookings (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE,
     end_date TIMESTAMP WITHOUT TIME ZONE,
@@ -37,7 +30,7 @@ CREATE TABLE IF NOT EXISTS bookings (
     booker_id BIGINT REFERENCES users (id) ON DELETE CASCADE
     );
 
-CREATE TABLE IF NOT EXISTS comments (
+CREATE TABLE comments (
    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
    text TEXT NOT NULL,
    created TIMESTAMP WITHOUT TIME ZONE,
@@ -0,0 +1,9 @@
+CREATE INDEX bookings_booker_start_idx ON bookings (booker_id, start_date, id);
+
+CREATE INDEX bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX items_owner_id_idx ON items (owner_id, id);
+
+CREATE INDEX comments_item_id_idx ON comments (item_id);
+
+CREATE INDEX requests_requester_id_idx ON requests (requester_id);
@@ -0,0 +1 @@
+CREATE INDEX bookings_booker_item_start_idx ON bookings (booker_id, item_id, start_date);
@@ -0,0 +1 @@
+CREATE INDEX items_request_idx ON items (request);
@@ -0,0 +1 @@
+CREATE INDEX bookings_item_end_idx ON bookings (item_id, end_date, start_date);
@@ -0,0 +1,11 @@
+-- Пулированный оптимизатор Hibernate выдаёт id из диапазона (nextval - 50, nextval],
+-- поэтому первое значение сдвигается на размер пула за максимальный существующий id.
+SELECT setval('users_seq', MAX(id) + 50, false) FROM users HAVING MAX(id) IS NOT NULL;
+
+SELECT setval('requests_seq', MAX(id) + 50, false) FROM requests HAVING MAX(id) IS NOT NULL;
+
+SELECT setval('items_seq', MAX(id) + 50, false) FROM items HAVING MAX(id) IS NOT NULL;
+
+SELECT setval('bookings_seq', MAX(id) + 50, false) FROM bookings HAVING MAX(id) IS NOT NULL;
+
+SELECT setval('comments_seq', MAX(id) + 50, false) FROM comments HAVING MAX(id) IS NOT NULL;
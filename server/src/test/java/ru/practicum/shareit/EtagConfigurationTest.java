@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.controller.ErrorHandler;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest
+@ContextConfiguration(classes = {UserController.class, ErrorHandler.class, EtagConfiguration.class})
+class EtagConfigurationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @SneakyThrows
+    @Test
+    void unchangedUserIsNotModifiedTest() {
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "Raisa", "raisa@mail.ru"));
+
+        String etag = mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @SneakyThrows
+    @Test
+    void changedUserIsReturnedAgainTest() {
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "Raisa", "raisa@mail.ru"));
+        String etag = mockMvc.perform(get("/users/1"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        when(userService.getUserById(1L)).thenReturn(new UserDto(1L, "Raisa", "raisa@yandex.ru"));
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    void writeRequestsAreNotBufferedTest() {
+        EtagConfiguration.ReadEtagHeaderFilter filter = new EtagConfiguration.ReadEtagHeaderFilter();
+
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("POST", "/items/bulk")));
+        assertTrue(filter.shouldNotFilter(new MockHttpServletRequest("PATCH", "/items/1")));
+        assertFalse(filter.shouldNotFilter(new MockHttpServletRequest("GET", "/items/search")));
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadsConfigurationTest {
+    private static final boolean VIRTUAL_THREADS = Runtime.version().feature() >= 21;
+
+    @Test
+    void executorRunsTasksOnVirtualThreadsTest() throws Exception {
+        assumeTrue(VIRTUAL_THREADS);
+        ExecutorService executor = VirtualThreadsConfiguration.newVirtualThreadPerTaskExecutor();
+        try {
+            Thread thread = executor.submit(Thread::currentThread).get();
+            assertTrue((Boolean) Thread.class.getMethod("isVirtual").invoke(thread));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void executorFailsBeforeJava21Test() {
+        assumeFalse(VIRTUAL_THREADS);
+        assertThrows(IllegalStateException.class, VirtualThreadsConfiguration::newVirtualThreadPerTaskExecutor);
+    }
+}
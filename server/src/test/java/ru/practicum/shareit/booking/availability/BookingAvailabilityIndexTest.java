@@ -0,0 +1,147 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.context.transaction.TestTransaction;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "shareit.bookings.availability-index.enabled=true",
+        "shareit.bookings.availability-index.rebuild-batch-size=2"
+})
+@ActiveProfiles("test")
+@Import(BookingAvailabilityIndex.class)
+class BookingAvailabilityIndexTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2050, 3, 1, 0, 0);
+
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item drill;
+    private User booker;
+    private Booking waiting;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Ivan").email("ivan@mail.ru").build());
+        booker = userRepository.save(User.builder().name("Petr").email("petr@mail.ru").build());
+        drill = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .ownerId(owner.getId())
+                .available(true)
+                .build());
+        bookingRepository.save(booking(2, 4, Status.APPROVED));
+        waiting = bookingRepository.save(booking(8, 10, Status.WAITING));
+        bookingRepository.save(booking(12, 14, Status.REJECTED));
+        bookingRepository.save(booking(16, 18, Status.CANCELED));
+    }
+
+    @Test
+    void rebuildSkipsRejectedAndCanceledBookingsAndMatchesDatabase() {
+        List<FreeIntervalDto> fromDatabase = new BookingAvailabilityIndex(bookingRepository)
+                .freeIntervals(drill.getId(), at(0), at(24));
+
+        availabilityIndex.rebuild();
+
+        assertTrue(availabilityIndex.isEnabled());
+        assertEquals(List.of(free(0, 2), free(4, 8), free(10, 24)),
+                availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+        assertEquals(fromDatabase, availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+    }
+
+    @Test
+    void rebuildSkipsEndedBookingsAndPastRangesAreReadFromDatabase() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingRepository.save(Booking.builder()
+                .item(drill)
+                .booker(booker)
+                .start(now.minusHours(3))
+                .end(now.minusHours(2))
+                .status(Status.APPROVED)
+                .build());
+
+        availabilityIndex.rebuild();
+
+        BookingCalendar calendar = (BookingCalendar) ReflectionTestUtils.getField(availabilityIndex, "calendar");
+        assertEquals(2, calendar.size());
+        assertEquals(List.of(new FreeIntervalDto(now.minusHours(4), now.minusHours(3)),
+                        new FreeIntervalDto(now.minusHours(2), now.minusHours(1))),
+                availabilityIndex.freeIntervals(drill.getId(), now.minusHours(4), now.minusHours(1)));
+
+        availabilityIndex.pruneEnded();
+
+        assertEquals(2, calendar.size());
+        assertEquals(List.of(free(0, 2), free(4, 8), free(10, 24)),
+                availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+    }
+
+    @Test
+    void updatesWaitForCommitAndAreDroppedOnRollback() {
+        availabilityIndex.rebuild();
+        waiting.setStatus(Status.REJECTED);
+        availabilityIndex.update(waiting);
+        Booking next = bookingRepository.save(booking(20, 22, Status.WAITING));
+        availabilityIndex.update(next);
+
+        assertEquals(List.of(free(0, 2), free(4, 8), free(10, 24)),
+                availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+
+        TestTransaction.end();
+
+        assertEquals(List.of(free(0, 2), free(4, 8), free(10, 24)),
+                availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+
+        availabilityIndex.update(waiting);
+        availabilityIndex.update(next);
+
+        assertEquals(List.of(free(0, 2), free(4, 20), free(22, 24)),
+                availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+
+        availabilityIndex.removeItem(drill.getId());
+
+        assertEquals(List.of(free(0, 24)), availabilityIndex.freeIntervals(drill.getId(), at(0), at(24)));
+    }
+
+    private Booking booking(int startHour, int endHour, Status status) {
+        return Booking.builder()
+                .item(drill)
+                .booker(booker)
+                .start(at(startHour))
+                .end(at(endHour))
+                .status(status)
+                .build();
+    }
+
+    private static FreeIntervalDto free(int startHour, int endHour) {
+        return new FreeIntervalDto(at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
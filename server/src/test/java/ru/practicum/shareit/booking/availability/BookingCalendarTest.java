@@ -0,0 +1,93 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BookingCalendarTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2050, 3, 1, 0, 0);
+
+    private BookingCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new BookingCalendar();
+        calendar.put(interval(2L, 1L, 10, 12));
+        calendar.put(interval(1L, 1L, 2, 4));
+        calendar.put(interval(3L, 1L, 14, 15));
+        calendar.put(interval(4L, 2L, 0, 24));
+    }
+
+    @Test
+    void freeReturnsGapsBetweenBookingsInsideRange() {
+        assertEquals(List.of(free(0, 2), free(4, 10), free(12, 14), free(15, 24)), calendar.free(1L, at(0), at(24)));
+        assertEquals(List.of(free(4, 10)), calendar.free(1L, at(3), at(11)));
+        assertEquals(List.of(), calendar.free(1L, at(10), at(12)));
+        assertEquals(List.of(), calendar.free(2L, at(5), at(6)));
+        assertEquals(List.of(free(0, 24)), calendar.free(3L, at(0), at(24)));
+    }
+
+    @Test
+    void putReplacesBookingWithSameIdAndRemoveFreesInterval() {
+        calendar.put(interval(2L, 1L, 6, 8));
+        assertEquals(List.of(free(4, 6), free(8, 14)), calendar.free(1L, at(4), at(14)));
+
+        calendar.remove(1L, 2L);
+        calendar.remove(1L, 42L);
+        assertEquals(List.of(free(4, 14)), calendar.free(1L, at(4), at(14)));
+        assertEquals(3, calendar.size());
+
+        calendar.removeItem(2L);
+        assertEquals(List.of(free(0, 24)), calendar.free(2L, at(0), at(24)));
+        assertEquals(2, calendar.size());
+    }
+
+    @Test
+    void longOverlappingBookingStartingBeforeRangeIsFound() {
+        calendar.put(interval(5L, 1L, -48, 11));
+
+        assertEquals(List.of(free(12, 14)), calendar.free(1L, at(5), at(15)));
+    }
+
+    @Test
+    void bookingsWithSameStartAreRemovedIndividually() {
+        calendar.put(interval(5L, 1L, 2, 6));
+
+        calendar.remove(1L, 1L);
+        assertEquals(List.of(free(0, 2), free(6, 10)), calendar.free(1L, at(0), at(10)));
+
+        calendar.remove(1L, 5L);
+        assertEquals(List.of(free(0, 10)), calendar.free(1L, at(0), at(10)));
+    }
+
+    @Test
+    void pruneRemovesOnlyEndedBookings() {
+        assertEquals(2, calendar.pruneEndedBefore(at(12)));
+
+        assertEquals(2, calendar.size());
+        assertEquals(List.of(free(12, 14), free(15, 24)), calendar.free(1L, at(12), at(24)));
+        assertEquals(List.of(), calendar.free(2L, at(12), at(24)));
+
+        calendar.remove(1L, 3L);
+        calendar.put(interval(2L, 1L, 16, 18));
+        assertEquals(List.of(free(12, 16), free(18, 24)), calendar.free(1L, at(12), at(24)));
+        assertEquals(2, calendar.size());
+    }
+
+    private static BookedInterval interval(long bookingId, long itemId, int startHour, int endHour) {
+        return new BookedInterval(bookingId, itemId, at(startHour), at(endHour));
+    }
+
+    private static FreeIntervalDto free(int startHour, int endHour) {
+        return new FreeIntervalDto(at(startHour), at(endHour));
+    }
+
+    private static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
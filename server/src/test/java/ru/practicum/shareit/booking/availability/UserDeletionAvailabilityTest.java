@@ -0,0 +1,95 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Бронирования и предметы удалённого пользователя уходят из БД каскадом, календарь должен освободить их интервалы.
+ */
+@DataJpaTest(properties = "shareit.bookings.availability-index.enabled=true")
+@ActiveProfiles("test")
+@Import({UserServiceImpl.class, ItemSearchIndex.class, BookingAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserDeletionAvailabilityTest {
+    private static final LocalDateTime DAY = LocalDateTime.of(2050, 3, 1, 0, 0);
+
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+    private User booker;
+    private Item drill;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Ivan").email("ivan@mail.ru").build());
+        booker = userRepository.save(User.builder().name("Petr").email("petr@mail.ru").build());
+        drill = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .ownerId(owner.getId())
+                .available(true)
+                .build());
+        bookingRepository.save(Booking.builder()
+                .item(drill)
+                .booker(booker)
+                .start(DAY.plusHours(2))
+                .end(DAY.plusHours(4))
+                .status(Status.APPROVED)
+                .build());
+        availabilityIndex.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void deletingBookerFreesTheirBookings() {
+        userService.deleteUser(booker.getId());
+
+        assertEquals(List.of(new FreeIntervalDto(DAY, DAY.plusHours(24))),
+                availabilityIndex.freeIntervals(drill.getId(), DAY, DAY.plusHours(24)));
+    }
+
+    @Test
+    void deletingOwnerDropsTheirItems() {
+        userService.deleteUser(owner.getId());
+
+        assertEquals(List.of(new FreeIntervalDto(DAY, DAY.plusHours(24))),
+                availabilityIndex.freeIntervals(drill.getId(), DAY, DAY.plusHours(24)));
+    }
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.controller.ErrorHandler;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 
@@ -152,6 +153,33 @@ public class BookingControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getAllBookingsForBookerWithCursor() throws Exception {
+        Booking booking = toBooking(user, toItem(user, itemDto), bookingDto);
+        BookingDto found = toBookingDto(booking);
+        String cursor = new Cursor(LocalDateTime.of(2023, 8, 1, 10, 0), 5L).encode();
+        when(bookingService.getBookingAfter(anyLong(), any(), any(Cursor.class), anyInt()))
+                .thenReturn(List.of(found));
+
+        mockMvc.perform(get("/bookings?state=ALL&size=1&after=" + cursor)
+                        .header(USERID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", new Cursor(found.getStart(), found.getId()).encode()))
+                .andExpect(content().json(mapper.writeValueAsString(List.of(found))));
+
+        mockMvc.perform(get("/bookings?state=ALL&size=2&after=" + cursor)
+                        .header(USERID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/bookings/owner?state=ALL&after=not-a-cursor")
+                        .header(USERID_HEADER, 1L)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getAllBookingsForOwner() throws Exception {
         Booking booking = toBooking(user, toItem(user, itemDto), bookingDto);
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "shareit.bookings.expiry.enabled=true",
+        "shareit.bookings.expiry.batch-size=2",
+        "shareit.bookings.availability-index.enabled=true"
+})
+@ActiveProfiles("test")
+@Import({BookingExpiryJob.class, BookingAvailabilityIndex.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingExpiryJobTest {
+    private static final LocalDateTime HOUR = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    private BookingExpiryJob expiryJob;
+    @Autowired
+    private BookingAvailabilityIndex availabilityIndex;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@mail.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная")
+                .ownerId(owner.getId())
+                .available(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void startedWaitingBookingsExpireInBatchesAndFreeCalendar() {
+        List<Booking> started = List.of(
+                bookingRepository.save(booking(-10, -9, Status.WAITING)),
+                bookingRepository.save(booking(-8, -7, Status.WAITING)),
+                bookingRepository.save(booking(-6, -5, Status.WAITING)),
+                bookingRepository.save(booking(-4, 1, Status.WAITING)),
+                bookingRepository.save(booking(-2, -1, Status.WAITING)));
+        Booking approved = bookingRepository.save(booking(-3, -2, Status.APPROVED));
+        Booking future = bookingRepository.save(booking(2, 3, Status.WAITING));
+        availabilityIndex.rebuild();
+
+        expiryJob.expireWaitingBookings();
+
+        started.forEach(booking ->
+                assertEquals(Status.EXPIRED, bookingRepository.findById(booking.getId()).orElseThrow().getStatus()));
+        assertEquals(Status.APPROVED, bookingRepository.findById(approved.getId()).orElseThrow().getStatus());
+        assertEquals(Status.WAITING, bookingRepository.findById(future.getId()).orElseThrow().getStatus());
+        assertEquals(5.0, meterRegistry.counter("shareit.bookings.expired").count());
+        assertEquals(List.of(free(-10, -3), free(-2, 2), free(3, 4)),
+                availabilityIndex.freeIntervals(item.getId(), HOUR.minusHours(10), HOUR.plusHours(4)));
+
+        expiryJob.expireWaitingBookings();
+
+        assertEquals(5.0, meterRegistry.counter("shareit.bookings.expired").count());
+    }
+
+    private Booking booking(int startHour, int endHour, Status status) {
+        return Booking.builder()
+                .item(item)
+                .booker(booker)
+                .start(HOUR.plusHours(startHour))
+                .end(HOUR.plusHours(endHour))
+                .status(status)
+                .build();
+    }
+
+    private static FreeIntervalDto free(int startHour, int endHour) {
+        return new FreeIntervalDto(HOUR.plusHours(startHour), HOUR.plusHours(endHour));
+    }
+}
@@ -7,6 +7,9 @@ import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.enums.Status;
@@ -17,17 +20,23 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @MockitoSettings(strictness = Strictness.LENIENT)
 @Transactional
 @DataJpaTest
+@ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class)
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 public class BookingRepositoryTest {
+    private static final PageRequest PAGE_SORT = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+
 
     @Autowired
     private BookingRepository bookingRepository;
@@ -108,10 +117,10 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerIdOrderByStartDescTest() {
+    void findAllByBookerIdTest() {
         User owner = userRepository.findById(booker2.getId()).get();
         long ownerId = owner.getId();
-        List<Booking> bookingList = bookingRepository.findAllByBookerIdOrderByStartDesc(ownerId, null);
+        List<Booking> bookingList = bookingRepository.findAllByBookerId(ownerId, PAGE_SORT);
 
         assertEquals(bookingList.get(0), booking2);
     }
@@ -155,17 +164,17 @@ public class BookingRepositoryTest {
 
         User owner = userRepository.findById(booker1.getId()).get();
         long ownerId = owner.getId();
-        List<Booking> bookingList = bookingRepository.findAllByBookerIdAndStatus(ownerId, Status.REJECTED);
+        List<Booking> bookingList = bookingRepository.findAllByBookerIdAndStatus(ownerId, Status.REJECTED, null);
         assertEquals(bookingList.get(0), booking1);
 
     }
 
     @Test
-    void findAllByItem_Owner_IdOrderByStartDescTest() {
+    void findAllByItem_Owner_IdTest() {
 
         User owner = userRepository.findById(booker1.getId()).get();
         long ownerId = owner.getId();
-        List<Booking> bookingList = bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(ownerId, null);
+        List<Booking> bookingList = bookingRepository.findAllByItem_OwnerId(ownerId, PAGE_SORT);
         assertEquals(bookingList.get(0), booking1);
     }
 
@@ -202,4 +211,134 @@ public class BookingRepositoryTest {
 
 
     }
+
+    @Test
+    void findLastAndNextBookingsByItemIdsTest() {
+        Item item1 = booking1.getItem();
+        Item item2 = booking2.getItem();
+        LocalDateTime now = LocalDateTime.now();
+
+        Booking oldLast = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(10))
+                .end(now.minusDays(9))
+                .booker(booker2)
+                .item(item1)
+                .status(Status.APPROVED)
+                .build());
+        Booking last = bookingRepository.save(Booking.builder()
+                .start(now.minusDays(3))
+                .end(now.minusDays(2))
+                .booker(booker2)
+                .item(item1)
+                .status(Status.APPROVED)
+                .build());
+        Booking next = bookingRepository.save(Booking.builder()
+                .start(now.plusDays(2))
+                .end(now.plusDays(3))
+                .booker(booker2)
+                .item(item1)
+                .status(Status.WAITING)
+                .build());
+        Booking laterNext = bookingRepository.save(Booking.builder()
+                .start(now.plusDays(5))
+                .end(now.plusDays(6))
+                .booker(booker2)
+                .item(item1)
+                .status(Status.APPROVED)
+                .build());
+
+        List<Booking> bookingList = bookingRepository.findLastAndNextBookingsByItemIds(
+                List.of(item1.getId(), item2.getId()), now, Status.REJECTED.name());
+
+        assertEquals(2, bookingList.size());
+        assertTrue(bookingList.contains(last));
+        assertTrue(bookingList.contains(next));
+        assertFalse(bookingList.contains(oldLast));
+        assertFalse(bookingList.contains(laterNext));
+    }
+
+    @Test
+    void findBookerBookingsAfterPagesByStartAndIdTest() {
+        LocalDateTime start = LocalDateTime.now().minusDays(5).withNano(0);
+        Item item = booking1.getItem();
+        List<Booking> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(bookingRepository.save(Booking.builder()
+                    .start(i < 2 ? start : start.minusDays(i))
+                    .end(start.plusDays(1))
+                    .booker(booker2)
+                    .item(item)
+                    .status(Status.APPROVED)
+                    .build()));
+        }
+        List<Booking> expected = bookingRepository.findAllByBookerId(booker2.getId(), PAGE_SORT);
+        LocalDateTime max = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+        List<Booking> actual = new ArrayList<>();
+        LocalDateTime afterStart = max;
+        long afterId = Long.MAX_VALUE;
+        List<Booking> page;
+        do {
+            page = bookingRepository.findBookerBookingsAfter(booker2.getId(), null, null, null, null, null,
+                    afterStart, afterId, PageRequest.ofSize(2));
+            actual.addAll(page);
+            if (!page.isEmpty()) {
+                afterStart = page.get(page.size() - 1).getStart();
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == 2);
+
+        assertEquals(6, expected.size());
+        assertEquals(expected, actual);
+        assertTrue(saved.get(0).getId() < saved.get(1).getId());
+        assertEquals(saved.get(1), actual.get(1));
+        assertEquals(saved.get(0), actual.get(2));
+    }
+
+    @Test
+    void findOwnerBookingsAfterFiltersByStateTest() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime max = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+        List<Booking> current = bookingRepository.findOwnerBookingsAfter(booker1.getId(), null, now, now, null,
+                null, max, Long.MAX_VALUE, PageRequest.ofSize(10));
+        List<Booking> past = bookingRepository.findOwnerBookingsAfter(booker1.getId(), null, null, null, now,
+                null, max, Long.MAX_VALUE, PageRequest.ofSize(10));
+        List<Booking> rejected = bookingRepository.findOwnerBookingsAfter(booker1.getId(), null, null, null, null,
+                Status.REJECTED, max, Long.MAX_VALUE, PageRequest.ofSize(10));
+        List<Booking> waiting = bookingRepository.findOwnerBookingsAfter(booker1.getId(), null, null, null, null,
+                Status.WAITING, max, Long.MAX_VALUE, PageRequest.ofSize(10));
+
+        assertEquals(List.of(booking1), current);
+        assertTrue(past.isEmpty());
+        assertEquals(List.of(booking1), rejected);
+        assertTrue(waiting.isEmpty());
+    }
+
+    @Test
+    void existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNotTest() {
+        LocalDateTime now = LocalDateTime.now();
+        Item item1 = booking1.getItem();
+        Item item2 = booking2.getItem();
+
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(booker1.getId(),
+                item1.getId(), now, Status.REJECTED));
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(booker2.getId(),
+                item2.getId(), now, Status.REJECTED));
+
+        bookingRepository.save(Booking.builder()
+                .start(now.minusDays(1))
+                .end(now.plusDays(1))
+                .booker(booker1)
+                .item(item1)
+                .status(Status.APPROVED)
+                .build());
+
+        assertTrue(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(booker1.getId(),
+                item1.getId(), now, Status.REJECTED));
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(booker2.getId(),
+                item1.getId(), now, Status.REJECTED));
+        assertFalse(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(booker1.getId(),
+                item1.getId(), now.minusDays(2), Status.REJECTED));
+    }
 }
@@ -0,0 +1,199 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exceptions.BookingOverlapException;
+import ru.practicum.shareit.exceptions.UnsupportedStateException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Параллельные бронирования и подтверждения через настоящие транзакции: тестовая транзакция
+ * отключена, каждый вызов сервиса фиксируется сам.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({BookingServiceImpl.class, BookingAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingServiceImpl bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final List<User> bookers = new ArrayList<>();
+    private User owner;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@mail.ru").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная")
+                .ownerId(owner.getId())
+                .available(true)
+                .build());
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(userRepository.save(User.builder()
+                    .name("Booker " + i)
+                    .email("booker" + i + "@mail.ru")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void onlyOneOfOverlappingBookingsIsSavedTest() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<Future<BookingDto>> results = book(i -> start.plusHours(i % 3), i -> start.plusHours(4 + i % 3));
+
+        int saved = 0;
+        for (Future<BookingDto> result : results) {
+            try {
+                result.get(30, TimeUnit.SECONDS);
+                saved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BookingOverlapException.class, e.getCause());
+            }
+        }
+        assertEquals(1, saved);
+        assertEquals(1, bookingRepository.count());
+    }
+
+    @Test
+    void adjacentBookingsAreAllSavedTest() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+
+        List<Future<BookingDto>> results = book(start::plusHours, i -> start.plusHours(i + 1));
+
+        for (Future<BookingDto> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(THREADS, bookingRepository.count());
+    }
+
+    @Test
+    void bookingIsApprovedOnceUnderConcurrentApproveAndRejectTest() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        long bookingId = bookingService.saveBooking(bookers.get(0).getId(), BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(2))
+                .build()).getId();
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingDto>> approvals = new ArrayList<>();
+        List<Future<BookingDto>> rejections = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approved = i % 2 == 0;
+            Future<BookingDto> result = executor.submit(() -> {
+                ready.await();
+                return bookingService.confirmOrCancelBooking(owner.getId(), bookingId, approved);
+            });
+            (approved ? approvals : rejections).add(result);
+        }
+        ready.countDown();
+
+        int approvedCount = 0;
+        for (Future<BookingDto> approval : approvals) {
+            try {
+                assertEquals(Status.APPROVED, approval.get(30, TimeUnit.SECONDS).getStatus());
+                approvedCount++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(UnsupportedStateException.class, e.getCause());
+            }
+        }
+        for (Future<BookingDto> rejection : rejections) {
+            try {
+                assertEquals(Status.REJECTED, rejection.get(30, TimeUnit.SECONDS).getStatus());
+            } catch (ExecutionException e) {
+                assertInstanceOf(UnsupportedStateException.class, e.getCause());
+            }
+        }
+        assertEquals(1, approvedCount);
+        assertEquals(Status.APPROVED, bookingRepository.findById(bookingId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void rejectedBookingIsNotApprovedOverNewBookingOfSameSlotTest() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        BookingDto slot = BookingDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(2))
+                .build();
+        long rejectedId = bookingService.saveBooking(bookers.get(0).getId(), slot).getId();
+        bookingService.confirmOrCancelBooking(owner.getId(), rejectedId, false);
+        bookingService.saveBooking(bookers.get(1).getId(), slot);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.confirmOrCancelBooking(owner.getId(), rejectedId, true));
+        assertEquals(Status.REJECTED, bookingRepository.findById(rejectedId).orElseThrow().getStatus());
+    }
+
+    private List<Future<BookingDto>> book(Interval start, Interval end) {
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<BookingDto>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long bookerId = bookers.get(i).getId();
+            BookingDto bookingDto = BookingDto.builder()
+                    .itemId(item.getId())
+                    .start(start.at(i))
+                    .end(end.at(i))
+                    .build();
+            results.add(executor.submit(() -> {
+                ready.await();
+                return bookingService.saveBooking(bookerId, bookingDto);
+            }));
+        }
+        ready.countDown();
+        return results;
+    }
+
+    private interface Interval {
+        LocalDateTime at(int i);
+    }
+}
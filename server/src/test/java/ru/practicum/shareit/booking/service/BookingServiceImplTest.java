@@ -8,6 +8,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.enums.State;
 import ru.practicum.shareit.booking.enums.Status;
@@ -16,12 +17,14 @@ import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.pagination.Cursor;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +32,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBooking;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDto;
@@ -46,6 +53,8 @@ class BookingServiceImplTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
     private Booking booking;
     private Item item;
     private User user;
@@ -81,7 +90,7 @@ class BookingServiceImplTest {
         bookingDto = BookingDto.builder()
                 .id(1L)
                 .start(LocalDateTime.now().plusMonths(1))
-                .end(LocalDateTime.of(2024, 7, 9, 13, 56))
+                .end(LocalDateTime.now().plusMonths(2))
                 .booker(toUserDto(user))
                 .itemId(2L)
                 .status(Status.WAITING)
@@ -103,10 +112,9 @@ class BookingServiceImplTest {
             exceptionBooking.setStart(LocalDateTime.of(2050, Month.FEBRUARY, 25, 10, 0));
             bookingService.saveBooking(1L, exceptionBooking);
         });
-        when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(bookingDto.getItemId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(any())).thenReturn(booking);
-        when(bookingService.saveBooking(1L, bookingDto))
-                .thenReturn(toBookingDto(booking));
+        assertEquals(toBookingDto(booking), bookingService.saveBooking(1L, bookingDto));
 
         assertThrows(InCorrectDateException.class, () -> {
             BookingDto exceptionBooking = toBookingDto(booking);
@@ -119,7 +127,7 @@ class BookingServiceImplTest {
             bookingService.saveBooking(1L, bookingDto);
         });
 
-        when(itemRepository.findById(bookingDto.getItemId())).thenReturn(Optional.of(
+        when(itemRepository.findWithLockById(bookingDto.getItemId())).thenReturn(Optional.of(
                 Item.builder()
                         .id(1L)
                         .name("item")
@@ -138,7 +146,7 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(1L))
                 .thenReturn(Optional.of(user));
-        when(itemRepository.findById(2L))
+        when(itemRepository.findWithLockById(2L))
                 .thenReturn(Optional.of(item));
 
         when(bookingRepository.save(any()))
@@ -148,13 +156,27 @@ class BookingServiceImplTest {
         assertEquals(1, bookingDto5.getId());
     }
 
+    @Test
+    void saveBookingOverlappingTest() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.of(user));
+        when(itemRepository.findWithLockById(2L))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusInAndEndGreaterThanAndStartLessThan(eq(item.getId()),
+                eq(EnumSet.of(Status.WAITING, Status.APPROVED)), eq(bookingDto.getStart()), eq(bookingDto.getEnd())))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.saveBooking(user.getId(), bookingDto));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void confirmOrCancelBooking() {
         item.setOwnerId(user.getId());
 
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.of(booking));
         when(bookingRepository.save(any())).thenReturn(booking);
 
         assertThrows(UserNotFoundException.class, () -> {
@@ -172,14 +194,14 @@ class BookingServiceImplTest {
         when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
         assertThrows(UserNotFoundException.class, () -> bookingService.confirmOrCancelBooking(1L, 1L, true));
 
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.empty());
         assertThrows(UserNotFoundException.class, () -> bookingService.confirmOrCancelBooking(1L, 1L, true));
     }
 
     @Test
     void bookingNotFoundExceptionForNonExistBooking() {
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(BookingNotFoundException.class,
                 () -> bookingService.confirmOrCancelBooking(1L, 1L, true));
@@ -188,17 +210,28 @@ class BookingServiceImplTest {
     @Test
     void unsupportedStateExceptionForAlreadyApprovedBooking() {
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.of(booking));
         booking.setStatus(Status.APPROVED);
 
         assertThrows(UnsupportedStateException.class,
                 () -> bookingService.confirmOrCancelBooking(1L, 1L, true));
     }
 
+    @Test
+    void inCorrectBookingExceptionForExpiredBooking() {
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.of(booking));
+        booking.setStatus(Status.EXPIRED);
+
+        assertThrows(InCorrectBookingException.class,
+                () -> bookingService.confirmOrCancelBooking(1L, 1L, true));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void bookingNotFoundExceptionForNonOwnerUser() {
         when(userRepository.existsById(anyLong())).thenReturn(true);
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.of(booking));
         Item item = new Item();
         item.setOwnerId(2L);
         booking.setItem(item);
@@ -265,7 +298,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByBookerIdOrderByStartDesc(anyLong(), any()))
+        when(bookingRepository.findAllByBookerId(anyLong(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -321,7 +354,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByBookerIdAndStatus(anyLong(), any()))
+        when(bookingRepository.findAllByBookerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -335,7 +368,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByBookerIdAndStatus(anyLong(), any()))
+        when(bookingRepository.findAllByBookerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -349,7 +382,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByItem_OwnerIdOrderByStartDesc(anyLong(), any()))
+        when(bookingRepository.findAllByItem_OwnerId(anyLong(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -405,7 +438,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByItem_OwnerIdAndStatus(anyLong(), any()))
+        when(bookingRepository.findAllByItem_OwnerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -419,7 +452,7 @@ class BookingServiceImplTest {
         when(userRepository.existsById(any()))
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
-        when(bookingRepository.findAllByItem_OwnerIdAndStatus(anyLong(), any()))
+        when(bookingRepository.findAllByItem_OwnerIdAndStatus(anyLong(), any(), any()))
                 .thenReturn(Collections.singletonList(booking));
 
         List<BookingDto> expectedResult = List.of(toBookingDto(booking));
@@ -428,6 +461,36 @@ class BookingServiceImplTest {
                 user.getId(), State.REJECTED.name(), 0, 20));
     }
 
+    @Test
+    void getBookingAfterCursorTest() {
+        when(userRepository.existsById(any()))
+                .thenReturn(true);
+        Booking booking = toBooking(user, item, bookingDto);
+        Cursor cursor = new Cursor(LocalDateTime.now(), 10L);
+        when(bookingRepository.findBookerBookingsAfter(anyLong(), isNull(), isNull(), isNull(), isNull(),
+                eq(Status.WAITING), eq(cursor.getStart()), eq(10L), any()))
+                .thenReturn(Collections.singletonList(booking));
+
+        assertEquals(List.of(toBookingDto(booking)), bookingService.getBookingAfter(
+                user.getId(), State.WAITING.name(), cursor, 20));
+    }
+
+    @Test
+    void getOwnerBookingAfterCursorTest() {
+        when(userRepository.existsById(any()))
+                .thenReturn(true);
+        Booking booking = toBooking(user, item, bookingDto);
+        Cursor cursor = new Cursor(LocalDateTime.now(), 10L);
+        when(bookingRepository.findOwnerBookingsAfter(anyLong(), isNull(), isNull(), isNull(), any(),
+                isNull(), eq(cursor.getStart()), eq(10L), any()))
+                .thenReturn(Collections.singletonList(booking));
+
+        assertEquals(List.of(toBookingDto(booking)), bookingService.getOwnerBookingAfter(
+                user.getId(), State.PAST.name(), cursor, 20));
+        assertThrows(IllegalArgumentException.class, () -> bookingService.getOwnerBookingAfter(
+                user.getId(), "TEST", cursor, 20));
+    }
+
     @Test
     void getBooking() {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
@@ -484,12 +547,29 @@ class BookingServiceImplTest {
                 .thenReturn(true);
         Booking booking = toBooking(user, item, bookingDto);
         booking.setItem(item2);
-        when(bookingRepository.findById(anyLong()))
+        when(bookingRepository.findWithLockById(anyLong()))
                 .thenReturn(Optional.of(booking));
         when(bookingRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(itemRepository.findWithLockById(2L)).thenReturn(Optional.of(item2));
 
         BookingDto booking1 = bookingService.confirmOrCancelBooking(user.getId(), 3L, true);
 
         assertEquals(toBookingDto(booking), booking1);
+        verify(itemRepository).findWithLockById(2L);
+    }
+
+    @Test
+    void approvingRejectedBookingOverAnotherBookingTest() {
+        item.setOwnerId(user.getId());
+        when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(bookingRepository.findWithLockById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findWithLockById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsByItemIdAndStatusInAndEndGreaterThanAndStartLessThan(item.getId(),
+                Status.OCCUPYING, booking.getStart(), booking.getEnd())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.confirmOrCancelBooking(user.getId(), booking.getId(), true));
+        assertEquals(Status.REJECTED, booking.getStatus());
+        verify(bookingRepository, never()).save(any());
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoForItem;
 import ru.practicum.shareit.booking.enums.Status;
@@ -37,6 +38,8 @@ public class BookingServiceTest {
     private UserRepository userRepository;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
 
     @Test
     void saveBookingTest() {
@@ -62,7 +65,7 @@ public class BookingServiceTest {
         booking.setStatus(Status.WAITING);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
         when(bookingRepository.save(booking)).thenReturn(booking);
 
         BookingDto expect = toBookingDto(booking);
@@ -94,7 +97,7 @@ public class BookingServiceTest {
         booking.setStatus(Status.WAITING);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(
                 ItemUnavailableException.class,
@@ -126,7 +129,7 @@ public class BookingServiceTest {
         booking.setStatus(Status.WAITING);
 
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
+        when(itemRepository.findWithLockById(toBookingDto(booking).getItemId())).thenReturn(Optional.of(item));
 
         assertThrows(
                 ItemNotFoundException.class,
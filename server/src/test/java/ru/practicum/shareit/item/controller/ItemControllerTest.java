@@ -11,19 +11,26 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
 import ru.practicum.shareit.comment.dto.CommentDto;
 import ru.practicum.shareit.controller.ErrorHandler;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.service.ItemImportService;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.CursorPage;
 import ru.practicum.shareit.user.model.User;
 
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -37,6 +44,8 @@ public class ItemControllerTest {
 
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemImportService itemImportService;
 
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private ItemDto itemDto;
@@ -60,6 +69,27 @@ public class ItemControllerTest {
     void tearDown() {
     }
 
+    @SneakyThrows
+    @Test
+    void getAvailabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2050, 3, 1, 0, 0);
+        LocalDateTime to = from.plusDays(1);
+        when(itemService.getAvailability(1L, from, to))
+                .thenReturn(List.of(new FreeIntervalDto(from, from.plusHours(2))));
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .param("from", "2050-03-01T00:00:00")
+                        .param("to", "2050-03-02T00:00:00")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].start", is("2050-03-01T00:00:00")))
+                .andExpect(jsonPath("$[0].end", is("2050-03-01T02:00:00")));
+
+        mockMvc.perform(get("/items/{id}/availability", 1L)
+                        .param("from", "2050-03-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
     @SneakyThrows
     @Test
     void searchFilmsTest() {
@@ -88,6 +118,26 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[1].available", is(true)));
     }
 
+    @SneakyThrows
+    @Test
+    void searchSendsNextCursorOnlyWhenPageIsOrderedById() {
+        when(itemService.searchItem("description", 0, 1)).thenReturn(List.of(itemDto));
+
+        when(itemService.isSearchOrderedById()).thenReturn(false);
+        mockMvc.perform(get("/items/search")
+                        .param("text", "description")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(CursorPage.NEXT_CURSOR_HEADER));
+
+        when(itemService.isSearchOrderedById()).thenReturn(true);
+        mockMvc.perform(get("/items/search")
+                        .param("text", "description")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, Cursor.ofId(itemDto.getId()).encode()));
+    }
+
     @Test
     @SneakyThrows
     void getItemByIdTest() {
@@ -114,6 +164,36 @@ public class ItemControllerTest {
                 .andExpect(jsonPath("$[0].available", is(true)));
     }
 
+    @SneakyThrows
+    @Test
+    void importItemsTest() {
+        when(itemImportService.importItems(eq(1L), eq(MediaType.parseMediaType("text/csv;charset=UTF-8")), any()))
+                .thenReturn(List.of(ItemImportResult.created(1, 5L), ItemImportResult.rejected(2, "Name не должен быть пустым")));
+
+        mockMvc.perform(post("/items/bulk")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("name,description,available\nДрель,Дрель,true\n,Пила,true\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].row", is(1)))
+                .andExpect(jsonPath("$[0].id", is(5)))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].row", is(2)))
+                .andExpect(jsonPath("$[1].error", is("Name не должен быть пустым")));
+    }
+
+    @SneakyThrows
+    @Test
+    void importItemsWithUnsupportedTypeTest() {
+        mockMvc.perform(post("/items/bulk")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<items/>"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemImportService, never()).importItems(anyLong(), any(), any());
+    }
+
     @SneakyThrows
     @Test
     void saveItemTest() {
@@ -5,9 +5,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -16,6 +18,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 @DataJpaTest
+@ActiveProfiles("test")
 public class ItemRepositoryTest {
     @Autowired
     private UserRepository userRepository;
@@ -57,4 +60,25 @@ public class ItemRepositoryTest {
         assertEquals(itemList.get(0).getName(), "Щётка для обуви");
         assertEquals(itemList.get(0).getDescription(), "Стандартная щётка для обуви");
     }
+
+    @Test
+    void keysetAndOffsetPagesMatchTest() {
+        for (int i = 0; i < 4; i++) {
+            itemRepository.save(Item.builder()
+                    .name("Щётка " + i)
+                    .description("Щётка для одежды")
+                    .available(true)
+                    .ownerId(user.getId())
+                    .build());
+        }
+
+        List<Item> offsetPage = itemRepository.searchItem("щётка", OffsetPageRequest.of(1, 3));
+        List<Item> keysetPage = itemRepository.searchItemAfter("щётка", item.getId(), PageRequest.ofSize(3));
+        List<Item> ownerPage = itemRepository.findAllByOwnerIdAndIdGreaterThanOrderByIdAsc(user.getId(),
+                item.getId(), PageRequest.ofSize(3));
+
+        assertEquals(3, offsetPage.size());
+        assertEquals(offsetPage, keysetPage);
+        assertEquals(offsetPage, ownerPage);
+    }
 }
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTest {
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(item(1L, "Щётка для обуви", "Стандартная щётка для обуви"));
+        index.put(item(2L, "Дрель", "Аккумуляторная дрель"));
+        index.put(item(3L, "Отвёртка", "Аккумуляторная отвёртка"));
+    }
+
+    @Test
+    void searchMatchesSubstringOfNameOrDescriptionIgnoringCase() {
+        assertEquals(List.of(2L, 3L), ids(index.search("АККУМ", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("щётк", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("дрел", 0, 10)));
+        assertTrue(index.search("пылесос", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchWithShortQueryScansAllDocuments() {
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("р", 0, 10)));
+        assertEquals(List.of(1L), ids(index.search("щё", 0, 10)));
+    }
+
+    @Test
+    void searchPagesWithOffsetAndLimit() {
+        assertEquals(List.of(2L), ids(index.search("аккум", 0, 1)));
+        assertEquals(List.of(3L), ids(index.search("аккум", 1, 1)));
+        assertTrue(index.search("аккум", 2, 1).isEmpty());
+    }
+
+    @Test
+    void putReplacesPreviousVersionOfItem() {
+        index.put(item(2L, "Перфоратор", "Сетевой перфоратор"));
+
+        assertEquals(List.of(3L), ids(index.search("аккум", 0, 10)));
+        assertEquals(List.of(2L), ids(index.search("перфоратор", 0, 10)));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void updatedItemKeepsItsPlaceInPagesOrderedById() {
+        index.put(item(2L, "Дрель", "Аккумуляторная ударная дрель"));
+
+        assertEquals(List.of(2L), ids(index.search("аккум", 0, 1)));
+        assertEquals(List.of(3L), ids(index.search("аккум", 1, 1)));
+        assertEquals(List.of(1L, 2L, 3L), ids(index.search("р", 0, 10)));
+    }
+
+    @Test
+    void removeExcludesItemFromResults() {
+        index.remove(3L);
+        index.remove(42L);
+
+        assertEquals(List.of(2L), ids(index.search("аккум", 0, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void compactionKeepsLiveItemsSearchable() {
+        for (long id = 10; id < 100; id++) {
+            index.put(item(id, "Палатка " + id, "Туристическая палатка"));
+        }
+        for (long id = 10; id < 90; id++) {
+            index.remove(id);
+        }
+
+        assertEquals(13, index.size());
+        assertEquals(10, index.search("палатка", 0, 100).size());
+        assertArrayEquals(new long[]{2L, 3L}, index.searchIds("аккум"));
+    }
+
+    private static Item item(long id, String name, String description) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .ownerId(1L)
+                .available(true)
+                .build();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
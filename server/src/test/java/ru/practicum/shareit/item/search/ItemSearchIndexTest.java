@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = {
+        "shareit.search.index.enabled=true",
+        "shareit.search.index.rebuild-batch-size=2"
+})
+@ActiveProfiles("test")
+@Import(ItemSearchIndex.class)
+class ItemSearchIndexTest {
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    private Item brush;
+    private Item drill;
+    private Item screwdriver;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder()
+                .name("Ivan")
+                .email("ivan@mail.ru")
+                .build());
+        brush = itemRepository.save(item(owner, "Щётка для обуви", "Стандартная щётка для обуви", true));
+        drill = itemRepository.save(item(owner, "Дрель", "Аккумуляторная дрель", true));
+        screwdriver = itemRepository.save(item(owner, "Отвёртка", "Аккумуляторная отвёртка", true));
+        itemRepository.save(item(owner, "Шуруповёрт", "Аккумуляторный шуруповёрт", false));
+    }
+
+    @Test
+    void rebuildIndexesOnlyAvailableItemsInBatches() {
+        itemSearchIndex.rebuild();
+
+        assertTrue(itemSearchIndex.isEnabled());
+        assertEquals(List.of(drill.getId(), screwdriver.getId()), ids(itemSearchIndex.search("аккум", 0, 10)));
+        assertEquals(List.of(brush.getId()), ids(itemSearchIndex.search("ЩЁТКА", 0, 10)));
+        assertTrue(itemSearchIndex.checkConsistency("аккум"));
+    }
+
+    @Test
+    void updateIsDeferredUntilCommitAndDivergenceIsDetected() {
+        itemSearchIndex.rebuild();
+        drill.setAvailable(false);
+        itemRepository.flush();
+
+        assertFalse(itemSearchIndex.checkConsistency("аккум"));
+
+        itemSearchIndex.index(drill);
+
+        assertEquals(List.of(drill.getId(), screwdriver.getId()), ids(itemSearchIndex.search("аккум", 0, 10)));
+    }
+
+    private static Item item(User owner, String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .ownerId(owner.getId())
+                .available(available)
+                .build();
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Ошибка вставки при сбросе пачки в настоящую БД: пачки фиксируются сами, поэтому тестовая транзакция отключена.
+ * Проверка строк отключена пустым валидатором, чтобы строка без названия дошла до ограничения NOT NULL.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ItemSearchIndex.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ItemImportBatchFailureTest {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemSearchIndex itemSearchIndex;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ItemImportServiceImpl itemImportService;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(User.builder().name("Ivan").email("ivan@mail.ru").build());
+        itemImportService = new ItemImportServiceImpl(itemRepository, userRepository, itemSearchIndex, entityManager,
+                transactionManager, mock(Validator.class), new ObjectMapper());
+        ReflectionTestUtils.setField(itemImportService, "batchSize", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void rowFailingOnInsertRejectsOnlyItself() {
+        String body = "{\"description\":\"Аккумуляторная\",\"available\":true}\n"
+                + "{\"name\":\"Пила\",\"description\":\"Ножовка\",\"available\":true}\n"
+                + "{\"name\":\"Молоток\",\"description\":\"Слесарный\",\"available\":true}\n";
+
+        List<ItemImportResult> results = itemImportService.importItems(owner.getId(), NDJSON, new StringReader(body));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).getError().startsWith("Ошибка сохранения"));
+        assertNotNull(results.get(1).getId());
+        assertNotNull(results.get(2).getId());
+        assertEquals(List.of("Пила", "Молоток"), itemRepository.findAll().stream()
+                .map(Item::getName)
+                .collect(Collectors.toList()));
+    }
+}
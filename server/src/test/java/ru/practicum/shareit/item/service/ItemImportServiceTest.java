@@ -0,0 +1,139 @@
+package ru.practicum.shareit.item.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
+import ru.practicum.shareit.item.dto.ItemImportResult;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemImportServiceTest {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ItemImportServiceImpl itemImportService;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        itemImportService = new ItemImportServiceImpl(itemRepository, userRepository, itemSearchIndex, entityManager,
+                transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper());
+        ReflectionTestUtils.setField(itemImportService, "batchSize", 2);
+    }
+
+    @Test
+    void importNdjsonSavesValidRowsInBatchesAndReportsInvalidOnes() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        String body = "{\"name\":\"Дрель\",\"description\":\"Аккумуляторная дрель\",\"available\":true}\n"
+                + "\n"
+                + "{\"name\":\"\",\"description\":\"Пила\",\"available\":true}\n"
+                + "{\"name\":\"Отвёртка\",\"description\":\"Крестовая\",\"available\":false,\"requestId\":7}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Молоток\",\"description\":\"Слесарный\",\"available\":true}\n";
+
+        List<ItemImportResult> results = itemImportService.importItems(1L, NDJSON, new StringReader(body));
+
+        assertEquals(List.of(
+                ItemImportResult.created(1, 1L),
+                ItemImportResult.rejected(2, "Name не должен быть пустым"),
+                ItemImportResult.created(3, 2L),
+                results.get(3),
+                ItemImportResult.created(5, 3L)), results);
+        assertTrue(results.get(3).getError().startsWith("Некорректный JSON"));
+        verify(itemRepository, times(2)).saveAllAndFlush(anyList());
+        verify(entityManager, times(2)).clear();
+        verify(itemSearchIndex, times(3)).index(any(Item.class));
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void importRejectsRowsLongerThanColumnsAndSavesOthers() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        String body = "{\"name\":\"Дрель\",\"description\":\"Аккумуляторная\",\"available\":true}\n"
+                + "{\"name\":\"Пила\",\"description\":\"" + "д".repeat(513) + "\",\"available\":true}\n"
+                + "{\"name\":\"" + "м".repeat(256) + "\",\"description\":\"Слесарный\",\"available\":true}\n"
+                + "{\"name\":\"Отвёртка\",\"description\":\"" + "к".repeat(512) + "\",\"available\":true}\n";
+
+        List<ItemImportResult> results = itemImportService.importItems(1L, NDJSON, new StringReader(body));
+
+        assertEquals(List.of(
+                ItemImportResult.created(1, 1L),
+                ItemImportResult.rejected(2, "description длиннее 512 символов"),
+                ItemImportResult.rejected(3, "name длиннее 255 символов"),
+                ItemImportResult.created(4, 2L)), results);
+        verify(itemRepository, times(1)).saveAllAndFlush(anyList());
+    }
+
+    @Test
+    void importCsvParsesHeaderQuotesAndTypes() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.saveAllAndFlush(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0)));
+        String body = "name,description,available,requestId\n"
+                + "Дрель,\"Дрель, аккумуляторная\",true,\n"
+                + "Пила,Ножовка,maybe,\n"
+                + "Отвёртка,,true,3\n";
+
+        List<ItemImportResult> results = itemImportService.importItems(1L, CSV, new StringReader(body));
+
+        assertEquals(List.of(
+                ItemImportResult.created(1, 1L),
+                ItemImportResult.rejected(2, "available должен быть true или false: maybe"),
+                ItemImportResult.rejected(3, "description не должен быть пустым")), results);
+    }
+
+    @Test
+    void importForUnknownUserFails() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(UserNotFoundException.class,
+                () -> itemImportService.importItems(1L, NDJSON, new StringReader("")));
+        verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    void importWithUnsupportedFormatFails() {
+        when(userRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(ValidationException.class,
+                () -> itemImportService.importItems(1L, MediaType.APPLICATION_XML, new StringReader("")));
+    }
+
+    private List<Item> assignIds(List<Item> items) {
+        items.forEach(item -> item.setId(ids.incrementAndGet()));
+        return items;
+    }
+}
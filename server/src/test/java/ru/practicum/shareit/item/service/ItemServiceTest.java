@@ -10,6 +10,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.dto.FreeIntervalDto;
 import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -18,10 +21,15 @@ import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.exceptions.InCorrectBookingException;
 import ru.practicum.shareit.exceptions.ItemNotFoundException;
+import ru.practicum.shareit.exceptions.ItemUnavailableException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.exceptions.ValidationException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.pagination.Cursor;
+import ru.practicum.shareit.pagination.OffsetPageRequest;
 import ru.practicum.shareit.request.model.Request;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -31,6 +39,8 @@ import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.booking.mapper.BookingMapper.toBookingDtoShort;
@@ -50,6 +60,12 @@ public class ItemServiceTest {
     @Mock
     private CommentRepository commentRepository;
 
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+
     private final ModelMapper mapper = new ModelMapper();
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -204,6 +220,9 @@ public class ItemServiceTest {
                 .thenReturn(Optional.ofNullable(user));
         when(itemRepository.findById(1L))
                 .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(eq(1L), eq(1L),
+                any(LocalDateTime.class), eq(Status.REJECTED)))
+                .thenReturn(true);
 
         when(commentRepository.save(any())).thenReturn(comment);
 
@@ -213,6 +232,21 @@ public class ItemServiceTest {
         assertEquals(createCommentDto, toCommentDto(comment));
     }
 
+    @Test
+    void postCommentWithoutStartedBookingTest() {
+        when(userRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(user));
+        when(itemRepository.findById(1L))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.existsByBookerIdAndItemIdAndStartLessThanEqualAndStatusNot(eq(1L), eq(1L),
+                any(LocalDateTime.class), eq(Status.REJECTED)))
+                .thenReturn(false);
+        CommentDto commentDto = toCommentDto(comment);
+
+        assertThrows(ItemUnavailableException.class, () -> itemService.postComment(1L, 1L, commentDto));
+        verify(commentRepository, never()).save(any());
+    }
+
     @Test
     void postCommentWrongUserTest() {
         booking.setBooker(user);
@@ -305,6 +339,22 @@ public class ItemServiceTest {
         assertThrows(ItemNotFoundException.class, () -> itemService.deleteItemById(999L));
         itemService.deleteItemById(1L);
         verify(itemRepository).deleteById(1L);
+        verify(availabilityIndex).removeItem(1L);
+    }
+
+    @Test
+    void getAvailabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2050, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        List<FreeIntervalDto> free = List.of(new FreeIntervalDto(from, to));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.existsById(999L)).thenReturn(false);
+        when(availabilityIndex.freeIntervals(1L, from, to)).thenReturn(free);
+
+        assertEquals(free, itemService.getAvailability(1L, from, to));
+        assertThrows(ItemNotFoundException.class, () -> itemService.getAvailability(999L, from, to));
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, to, from));
+        assertThrows(ValidationException.class, () -> itemService.getAvailability(1L, from, from));
     }
 
     @Test
@@ -328,6 +378,37 @@ public class ItemServiceTest {
         assertFalse(result1.isEmpty());
     }
 
+    @Test
+    void getItemsByUserWithLastAndNextBookingTest() {
+        Booking last = Booking.builder()
+                .id(2L)
+                .start(LocalDateTime.now().minusDays(2))
+                .end(LocalDateTime.now().minusDays(1))
+                .item(item)
+                .booker(user)
+                .status(Status.APPROVED)
+                .build();
+        Booking next = Booking.builder()
+                .id(3L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(user)
+                .status(Status.WAITING)
+                .build();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(itemRepository.findAllByOwnerIdOrderByIdAsc(eq(1L), any())).thenReturn(List.of(item));
+        when(bookingRepository.findLastAndNextBookingsByItemIds(eq(List.of(item.getId())), any(),
+                eq(Status.REJECTED.name())))
+                .thenReturn(List.of(last, next));
+
+        List<ItemDto> result = itemService.getItemsByUser(1L, 0, 20);
+
+        assertEquals(1, result.size());
+        assertEquals(toBookingDtoShort(last), result.get(0).getLastBooking());
+        assertEquals(toBookingDtoShort(next), result.get(0).getNextBooking());
+    }
+
     @Test
     void searchItemTest() {
         Collection<ItemDto> result = itemService.searchItem("", 0, 10);
@@ -335,10 +416,77 @@ public class ItemServiceTest {
         String searchText = "validSearchText";
         int from = 0;
         int size = 10;
-        when(itemRepository.searchItem(searchText, PageRequest.of(0, size)))
+        when(itemRepository.searchItem(searchText, OffsetPageRequest.of(0, size)))
                 .thenReturn(List.of(item));
 
         result = itemService.searchItem(searchText, from, size);
         assertFalse(result.isEmpty());
     }
+
+    @Test
+    void searchItemWithOffsetNotMultipleOfSizeTest() {
+        when(itemRepository.searchItem("щётка", OffsetPageRequest.of(3, 2)))
+                .thenReturn(List.of(item));
+
+        Collection<ItemDto> result = itemService.searchItem("щётка", 3, 2);
+
+        assertEquals(List.of(toItemDto(item)), result);
+    }
+
+    @Test
+    void searchItemAfterCursorTest() {
+        when(itemRepository.searchItemAfter("щётка", 5L, PageRequest.ofSize(10)))
+                .thenReturn(List.of(item));
+
+        assertEquals(List.of(toItemDto(item)), itemService.searchItemAfter("щётка", Cursor.ofId(5L), 10));
+        assertEquals(Collections.emptyList(), itemService.searchItemAfter("", Cursor.ofId(5L), 10));
+    }
+
+    @Test
+    void searchItemWithTrigramIndexTest() {
+        ReflectionTestUtils.setField(itemService, "trigramSearchEnabled", true);
+        when(itemRepository.searchItemByTrigram("щётка", OffsetPageRequest.of(0, 10)))
+                .thenReturn(List.of(item));
+
+        Collection<ItemDto> result = itemService.searchItem("щётка", 0, 10);
+
+        assertEquals(List.of(toItemDto(item)), result);
+        verify(itemRepository, never()).searchItem(any(), any());
+    }
+
+    @Test
+    void searchItemWithInMemoryIndexTest() {
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        when(itemSearchIndex.search("щётка", 0, 10)).thenReturn(List.of(item));
+
+        Collection<ItemDto> result = itemService.searchItem("щётка", 0, 10);
+
+        assertEquals(List.of(toItemDto(item)), result);
+        verify(itemRepository, never()).searchItem(any(), any());
+    }
+
+    @Test
+    void searchIsOrderedByIdUnlessServedByTrigramSearchTest() {
+        assertTrue(itemService.isSearchOrderedById());
+
+        ReflectionTestUtils.setField(itemService, "trigramSearchEnabled", true);
+        assertFalse(itemService.isSearchOrderedById());
+
+        when(itemSearchIndex.isEnabled()).thenReturn(true);
+        assertTrue(itemService.isSearchOrderedById());
+    }
+
+    @Test
+    void saveUpdateAndDeleteItemUpdateSearchIndexTest() {
+        when(userRepository.findById(any())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(any())).thenReturn(Optional.of(item));
+        when(itemRepository.existsById(1L)).thenReturn(true);
+
+        itemService.saveItem(toItemDto(item), user.getId());
+        itemService.updateItem(toItemDto(item), user.getId());
+        itemService.deleteItemById(1L);
+
+        verify(itemSearchIndex, times(2)).index(any());
+        verify(itemSearchIndex).remove(1L);
+    }
 }
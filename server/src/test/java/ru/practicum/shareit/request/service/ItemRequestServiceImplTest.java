@@ -12,6 +12,7 @@ import org.modelmapper.ModelMapper;
 import ru.practicum.shareit.exceptions.RequestNotFoundException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
 import ru.practicum.shareit.request.model.Request;
@@ -40,6 +41,9 @@ public class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestRepository itemRequestRepository;
 
+    @Mock
+    private ItemRepository itemRepository;
+
     private final ModelMapper mapper = new ModelMapper();
     @InjectMocks
     private ItemRequestServiceIml itemRequestService;
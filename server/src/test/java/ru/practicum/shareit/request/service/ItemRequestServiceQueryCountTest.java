@@ -0,0 +1,103 @@
+package ru.practicum.shareit.request.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dto.ItemDtoReq;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.RequestDtoWithRequest;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import(ItemRequestServiceIml.class)
+class ItemRequestServiceQueryCountTest {
+    @Autowired
+    private ItemRequestServiceIml itemRequestService;
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private User viewer;
+
+    @BeforeEach
+    void setUp() {
+        viewer = userRepository.save(User.builder().name("Viewer").email("viewer@mail.ru").build());
+        for (int i = 0; i < 20; i++) {
+            User requester = userRepository.save(User.builder()
+                    .name("Requester " + i)
+                    .email("requester" + i + "@mail.ru")
+                    .build());
+            Request request = itemRequestRepository.save(Request.builder()
+                    .description("Запрос " + i)
+                    .requester(requester)
+                    .created(LocalDateTime.now())
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                itemRepository.save(Item.builder()
+                        .name("Предмет " + i + "-" + j)
+                        .description("Описание")
+                        .available(true)
+                        .ownerId(viewer.getId())
+                        .request(request.getId())
+                        .build());
+            }
+        }
+        entityManager.flush();
+    }
+
+    @Test
+    void allRequestsPageUsesConstantNumberOfStatements() {
+        long smallPage = countStatements(() -> itemRequestService.getAllItemRequest(viewer.getId(), 0, 2));
+        long largePage = countStatements(() -> itemRequestService.getAllItemRequest(viewer.getId(), 0, 20));
+
+        assertEquals(smallPage, largePage);
+        assertEquals(3, largePage);
+    }
+
+    @Test
+    void itemsAreAttachedToTheirRequests() {
+        entityManager.clear();
+
+        List<RequestDtoWithRequest> requests = itemRequestService.getAllItemRequest(viewer.getId(), 0, 20);
+
+        assertEquals(20, requests.size());
+        for (RequestDtoWithRequest request : requests) {
+            List<Long> requestIds = request.getItems().stream()
+                    .map(ItemDtoReq::getRequestId)
+                    .collect(Collectors.toList());
+            assertEquals(List.of(request.getId(), request.getId()), requestIds);
+            Request stored = itemRequestRepository.findById(request.getId()).orElseThrow();
+            assertEquals(stored.getItems().size(), request.getItems().size());
+        }
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
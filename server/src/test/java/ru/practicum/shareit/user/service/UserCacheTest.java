@@ -0,0 +1,106 @@
+package ru.practicum.shareit.user.service;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Кэш второго уровня заполняется только после фиксации транзакции, поэтому тесты работают без общей транзакции.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserServiceImpl.class, ItemSearchIndex.class, BookingAvailabilityIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserCacheTest {
+    @Autowired
+    private UserServiceImpl userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        user = userRepository.save(User.builder().name("Ivan").email("ivan@mail.ru").build());
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findAndExistsByIdAreServedFromCache() {
+        assertTrue(userRepository.findById(user.getId()).isPresent());
+        assertTrue(userRepository.existsById(user.getId()));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void updateUserRefreshesCachedEntry() {
+        userService.updateUser(UserDto.builder().name("Petr").build(), user.getId());
+        statistics.clear();
+
+        assertEquals("Petr", userService.getUserById(user.getId()).getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void deleteUserEvictsItemsRemovedByCascade() {
+        Item item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Аккумуляторная дрель")
+                .available(true)
+                .ownerId(user.getId())
+                .build());
+        assertTrue(itemRepository.findById(item.getId()).isPresent());
+
+        User other = userRepository.save(User.builder().name("Petr").email("petr@mail.ru").build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("Пила")
+                .description("Ножовка")
+                .available(true)
+                .ownerId(other.getId())
+                .build());
+        assertTrue(itemRepository.findById(otherItem.getId()).isPresent());
+
+        userService.deleteUser(user.getId());
+
+        assertFalse(userRepository.existsById(user.getId()));
+        assertFalse(itemRepository.findById(item.getId()).isPresent());
+        statistics.clear();
+        assertTrue(itemRepository.findById(otherItem.getId()).isPresent());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+}
@@ -9,12 +9,22 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.modelmapper.ModelMapper;
+import ru.practicum.shareit.booking.availability.BookedInterval;
+import ru.practicum.shareit.booking.availability.BookingAvailabilityIndex;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exceptions.ConflictException;
 import ru.practicum.shareit.exceptions.UserNotFoundException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +32,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
@@ -30,6 +41,18 @@ import static ru.practicum.shareit.user.mapper.UserMapper.toUserDto;
 public class UserServiceTest {
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private BookingRepository bookingRepository;
+    @Mock
+    private BookingAvailabilityIndex availabilityIndex;
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private Cache cache;
     private final ModelMapper mapper = new ModelMapper(); //maybe final
     @InjectMocks
     private UserServiceImpl userService;
@@ -128,8 +151,21 @@ public class UserServiceTest {
     @Test
     void deleteUser() {
         when(userRepository.existsById(anyLong())).thenReturn(true);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(itemRepository.findIdsByOwnerId(1L)).thenReturn(List.of(3L, 4L));
+        List<BookedInterval> bookings = List.of(new BookedInterval(5L, 6L, LocalDateTime.now(),
+                LocalDateTime.now().plusDays(1)));
+        when(bookingRepository.findBookedIntervalsByBookerId(1L, Status.OCCUPYING)).thenReturn(bookings);
         userService.deleteUser(1L);
         verify(userRepository).deleteById(1L);
+        verify(itemSearchIndex).remove(3L);
+        verify(itemSearchIndex).remove(4L);
+        verify(availabilityIndex).removeItem(3L);
+        verify(availabilityIndex).removeItem(4L);
+        verify(availabilityIndex).remove(bookings);
+        verify(cache).evict(Item.class, 3L);
+        verify(cache).evict(Item.class, 4L);
+        verify(cache, never()).evict(Item.class);
 
         when(userRepository.existsById(anyLong())).thenReturn(false);
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(999L));